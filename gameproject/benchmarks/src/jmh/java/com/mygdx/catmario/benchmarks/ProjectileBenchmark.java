@@ -0,0 +1,135 @@
+package com.mygdx.catmario.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.math.Vector2;
+import com.mygdx.catmario.EntityStore;
+import com.mygdx.catmario.MovementSystem;
+import com.mygdx.catmario.Prefabs;
+import com.mygdx.catmario.ProjectileSystem;
+import com.mygdx.catmario.TileMap;
+
+/**
+ * One tick of {@code projectiles} bullets. {@code perObject} is how bullets used to work: an ArrayList of objects,
+ * each allocating a Vector2 per update, removed through the iterator. The batched variants run MovementSystem and
+ * ProjectileSystem over the entity store, on the calling thread or split over the ForkJoinPool.
+ * The retire benchmarks remove every tenth bullet, one swap-remove at a time or by a single compaction.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectileBenchmark {
+    private static final float STEP = 1f / 60f;
+    private static final float NEVER = Float.MAX_VALUE; // Retire edge no bullet reaches, so the population stays put
+    private static final float EDGE = 1e9f;             // Retire edge only every tenth bullet starts past
+
+    @Param({"10000", "100000", "1000000"})
+    public int projectiles;
+
+    private final ArrayList<LegacyBullet> legacy = new ArrayList<>();
+    private EntityStore store;
+    private EntityStore pristine; // Restored before each retire benchmark
+    private TileMap level;
+    private final MovementSystem serialMovement = new MovementSystem(Integer.MAX_VALUE);
+    private final MovementSystem parallelMovement = new MovementSystem();
+    private final ProjectileSystem projectileSystem = new ProjectileSystem();
+
+    // The bullet from before the entity store, minus its texture
+    private static class LegacyBullet {
+        private final Vector2 position;
+        private final Vector2 velocity = new Vector2(500, 0);
+
+        LegacyBullet(float x, float y) {
+            position = new Vector2(x, y);
+        }
+
+        void update(float delta) {
+            position.add(velocity.cpy().scl(delta));
+        }
+
+        boolean isOffScreen(float screenWidth) {
+            return position.x > screenWidth;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        level = new TileMap(1, 1, 75);
+        pristine = new EntityStore(projectiles);
+        for (int i = 0; i < projectiles; i++) {
+            float x = i % 10 == 0 ? 2 * EDGE : i % 1920;
+            float y = 150 + (i % 1080);
+            legacy.add(new LegacyBullet(x, y));
+            Prefabs.bullet(pristine, x, y);
+        }
+        store = new EntityStore(projectiles);
+        store.copyFrom(pristine);
+    }
+
+    @Setup(Level.Invocation)
+    public void restore() {
+        if (store.size() != projectiles) {
+            store.copyFrom(pristine); // A retire benchmark ran; the update benchmarks never shrink the store
+        }
+    }
+
+    @Benchmark
+    public int perObject() {
+        Iterator<LegacyBullet> iterator = legacy.iterator();
+        while (iterator.hasNext()) {
+            LegacyBullet bullet = iterator.next();
+            bullet.update(STEP);
+            if (bullet.isOffScreen(NEVER)) {
+                iterator.remove();
+            }
+        }
+        return legacy.size();
+    }
+
+    @Benchmark
+    public int batchedSerial() {
+        serialMovement.update(store, level, STEP);
+        projectileSystem.update(store, NEVER);
+        return store.size();
+    }
+
+    @Benchmark
+    public int batchedParallel() {
+        parallelMovement.update(store, level, STEP);
+        projectileSystem.update(store, NEVER);
+        return store.size();
+    }
+
+    // How ProjectileSystem used to retire: swap the last bullet into each freed slot and look at that slot again
+    @Benchmark
+    public int retireSwapRemove() {
+        int i = 0;
+        while (i < store.size()) {
+            int entity = store.idAt(i);
+            if (store.getX(entity) > EDGE) {
+                store.destroy(entity);
+                continue;
+            }
+            i++;
+        }
+        return store.size();
+    }
+
+    @Benchmark
+    public int retireCompact() {
+        projectileSystem.update(store, EDGE);
+        return store.size();
+    }
+}
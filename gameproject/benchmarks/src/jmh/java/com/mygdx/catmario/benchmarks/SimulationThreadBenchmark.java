@@ -0,0 +1,103 @@
+package com.mygdx.catmario.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mygdx.catmario.EntityStore;
+import com.mygdx.catmario.GameWorld;
+import com.mygdx.catmario.InputSource;
+import com.mygdx.catmario.Prefabs;
+import com.mygdx.catmario.SimulationThread;
+import com.mygdx.catmario.TileMap;
+import com.mygdx.catmario.WorldSnapshot;
+
+/**
+ * Frames per second when every frame must show at least one new tick, with the player plus {@code entities} bullets.
+ * {@code serial} ticks and then draws on one thread, as GameScreen does by default; {@code threaded} draws the newest
+ * snapshot while a SimulationThread ticks the next one, as with -PsimulationThread. Drawing is stood in for by the
+ * interpolate-and-cull pass RenderSystem makes, plus {@link #RENDER_WORK} tokens of CPU for the GL submission.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SimulationThreadBenchmark {
+    private static final float TICK_RATE = 60;
+    private static final float TILE_SIZE = 75;
+    private static final long RENDER_WORK = 100_000;
+
+    @Param({"1000", "100000", "500000"})
+    public int entities;
+
+    @Param({"serial", "threaded"})
+    public String mode;
+
+    private GameWorld world;
+    private SimulationThread simulation;
+    private int lastTick;
+
+    @Setup
+    public void setUp() {
+        TileMap level = new TileMap(4096, 16, TILE_SIZE);
+        for (int x = 0; x < level.getWidth(); x++) {
+            level.setTile(x, 0, (byte) 1);
+        }
+        InputSource input = () -> InputSource.RIGHT;
+        // Wide enough that no bullet leaves the world during a run, so the population stays constant
+        world = new GameWorld(level, input, Float.MAX_VALUE, entities + 1);
+        world.createPlayer(100, TILE_SIZE, 300, 150);
+        for (int i = 0; i < entities; i++) {
+            Prefabs.bullet(world.getEntities(), i % 1920, 150 + (i % 1080));
+        }
+
+        if (mode.equals("threaded")) {
+            simulation = new SimulationThread(world, TICK_RATE);
+            simulation.setFreeRunning(true);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (simulation != null) {
+            simulation.dispose();
+            simulation = null;
+        }
+    }
+
+    @Benchmark
+    public int frame(Blackhole blackhole) {
+        if (simulation == null) {
+            world.step(1f / TICK_RATE);
+            return draw(world.getEntities(), blackhole);
+        }
+        WorldSnapshot snapshot = simulation.acquire();
+        while (snapshot.getTick() <= lastTick) {
+            Thread.yield(); // Let the simulation have the core on machines with few of them
+            snapshot = simulation.acquire();
+        }
+        lastTick = snapshot.getTick();
+        return draw(snapshot.getEntities(), blackhole);
+    }
+
+    private static int draw(EntityStore store, Blackhole blackhole) {
+        int visible = 0;
+        for (int i = 0, n = store.size(); i < n; i++) {
+            int entity = store.idAt(i);
+            if (store.getX(entity) < 1920 && store.getY(entity) < 1080) {
+                visible++;
+            }
+        }
+        Blackhole.consumeCPU(RENDER_WORK);
+        blackhole.consume(visible);
+        return visible;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mygdx.catmario.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.badlogic.gdx.utils.IntArray;
+import com.mygdx.catmario.SpatialHash;
+
+/**
+ * Broadphase cost for {@code colliders} bullet-sized boxes. The area grows with the collider count so the
+ * density stays constant, which is what a bigger level looks like; time per op should then grow roughly linearly.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpatialHashBenchmark {
+    private static final float CELL_SIZE = 128;
+    private static final float BOX_WIDTH = 80;
+    private static final float BOX_HEIGHT = 20;
+    private static final float AREA_PER_COLLIDER = 200 * 200;
+    private static final int RAYS = 1000;
+
+    @Param({"1000", "10000", "50000"})
+    public int colliders;
+
+    private float[] x;
+    private float[] y;
+    private SpatialHash hash;
+    private final IntArray results = new IntArray();
+
+    @Setup
+    public void setUp() {
+        float side = (float) Math.sqrt(colliders * AREA_PER_COLLIDER);
+        Random random = new Random(42);
+        x = new float[colliders];
+        y = new float[colliders];
+        for (int i = 0; i < colliders; i++) {
+            x[i] = random.nextFloat() * side;
+            y[i] = random.nextFloat() * side;
+        }
+        hash = new SpatialHash(CELL_SIZE, colliders);
+        rebuild();
+        hash.clear(); // Let the bucket table grow to fit before measuring
+        rebuild();
+    }
+
+    @Benchmark
+    public SpatialHash rebuild() {
+        hash.clear();
+        for (int i = 0; i < colliders; i++) {
+            hash.add(i, x[i], y[i], BOX_WIDTH, BOX_HEIGHT);
+        }
+        return hash;
+    }
+
+    // Rebuild plus one overlap query per collider: a full tick of broadphase work
+    @Benchmark
+    public int rebuildAndQueryAll() {
+        rebuild();
+        int overlaps = 0;
+        for (int i = 0; i < colliders; i++) {
+            results.clear();
+            hash.queryAabb(x[i], y[i], BOX_WIDTH, BOX_HEIGHT, results);
+            overlaps += results.size;
+        }
+        return overlaps;
+    }
+
+    @Benchmark
+    public int raycasts() {
+        int hits = 0;
+        for (int i = 0; i < RAYS; i++) {
+            int from = i % colliders;
+            if (hash.raycast(x[from] - 1, y[from] + 1, 1, 0.25f, 2000) != SpatialHash.NO_HIT) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,67 @@
+package com.mygdx.catmario.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mygdx.catmario.EntityStore;
+import com.mygdx.catmario.GameWorld;
+import com.mygdx.catmario.InputSource;
+import com.mygdx.catmario.MovementSystem;
+import com.mygdx.catmario.Prefabs;
+import com.mygdx.catmario.TileMap;
+
+/** Cost of one fixed simulation tick with the player plus {@code entities} live bullets. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorldStepBenchmark {
+    private static final float STEP = 1f / 60f;
+    private static final float TILE_SIZE = 75;
+
+    @Param({"1", "1000", "100000"})
+    public int entities;
+
+    private GameWorld world;
+    private TileMap level;
+    private EntityStore store;
+    private final MovementSystem movement = new MovementSystem();
+
+    @Setup
+    public void setUp() {
+        // A long flat floor two tiles high
+        level = new TileMap(4096, 16, TILE_SIZE);
+        for (int x = 0; x < level.getWidth(); x++) {
+            level.setTile(x, 0, (byte) 1);
+            level.setTile(x, 1, (byte) 1);
+        }
+
+        InputSource input = () -> InputSource.RIGHT; // Keep the player moving
+        // Wide enough that no bullet leaves the world during a run, so the population stays constant
+        world = new GameWorld(level, input, Float.MAX_VALUE, entities + 1);
+        world.createPlayer(100, 2 * TILE_SIZE, 300, 150);
+
+        store = world.getEntities();
+        for (int i = 0; i < entities; i++) {
+            Prefabs.bullet(store, i % 1920, 150 + (i % 1080));
+        }
+    }
+
+    @Benchmark
+    public void worldStep() {
+        world.step(STEP);
+    }
+
+    // Just the integration pass over the dense component arrays
+    @Benchmark
+    public void movementSystem() {
+        movement.update(store, level, STEP);
+    }
+}
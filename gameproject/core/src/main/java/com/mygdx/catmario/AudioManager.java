@@ -0,0 +1,282 @@
+package com.mygdx.catmario;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
+
+// Game-wide audio: the sound settings, a capped set of sound effect voices and the music tracks.
+// Sounds themselves come from ResourceCache (one instance per file); this decides which of them get a voice.
+// Music files are opened on a background thread, so showing a screen never waits for a decoder,
+// and switching tracks fades the old one out while the new one fades in.
+public class AudioManager implements Disposable {
+    private static final String TAG = "AudioManager";
+    private static final String SETTINGS_FILE = "settings/sound.properties";
+
+    // Sound effect priorities; when every voice is busy a sound may take over a voice of lower or equal priority
+    public static final int PRIORITY_HOVER = 0;
+    public static final int PRIORITY_CLICK = 1;
+
+    private static final int MAX_VOICES = 8;
+    // Sound cannot report when an instance has finished, so a voice counts as busy this long after it starts.
+    // All our effects are short UI blips.
+    private static final long VOICE_MILLIS = 1000;
+
+    private static final float MUSIC_VOLUME = 0.5f;
+    private static final float FADE_SECONDS = 0.75f;
+
+    private boolean musicEnabled = true;
+    private boolean soundEffectsEnabled = true;
+    private final PersistenceExecutor persistence;  // Writes settings off the render thread
+
+    // Voices, as parallel arrays; a null sound is a free voice
+    private final Sound[] voiceSounds = new Sound[MAX_VOICES];
+    private final long[] voiceIds = new long[MAX_VOICES];
+    private final int[] voicePriorities = new int[MAX_VOICES];
+    private final long[] voiceStarted = new long[MAX_VOICES];
+
+    // Music tracks by path; a track stays open once loaded so returning to a screen resumes instantly
+    private final ObjectMap<String, Track> tracks = new ObjectMap<>();
+    private final ExecutorService loader;
+    private String currentMusic;  // Track that should be audible, null for silence
+    private boolean disposed;
+
+    private static class Track {
+        Music music;     // Null until the loader has opened it, or for good if it could not be opened
+        float volume;
+        boolean rewind;  // Start from the beginning next time (stopMusic) instead of resuming (pauseMusic)
+    }
+
+    public AudioManager(PersistenceExecutor persistence) {
+        this.persistence = persistence;
+        loader = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audio-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        loadSettings();
+    }
+
+    private void loadSettings() {
+        FileHandle file = Gdx.files.local(SETTINGS_FILE);
+        if (file.exists()) {
+            Properties settings = new Properties();
+            try (Reader reader = file.reader("UTF-8")) {
+                settings.load(reader);
+            } catch (IOException e) {
+                Gdx.app.error(TAG, "Could not read " + SETTINGS_FILE, e);
+            }
+            musicEnabled = Boolean.parseBoolean(settings.getProperty("musicEnabled", "true"));
+            soundEffectsEnabled = Boolean.parseBoolean(settings.getProperty("soundEffectsEnabled", "true"));
+        } else {
+            // Settings from older versions were kept in preferences
+            Preferences preferences = Gdx.app.getPreferences("SoundSettings");
+            musicEnabled = preferences.getBoolean("musicEnabled", true);
+            soundEffectsEnabled = preferences.getBoolean("soundEffectsEnabled", true);
+        }
+    }
+
+    public void toggleMusic() {
+        musicEnabled = !musicEnabled;  // The current track fades out or back in on the next update()
+        saveSettings();
+    }
+
+    public void toggleSoundEffects() {
+        soundEffectsEnabled = !soundEffectsEnabled;
+        saveSettings();
+    }
+
+    public void toggleAllSound() {
+        boolean newState = !(musicEnabled || soundEffectsEnabled);
+        musicEnabled = newState;
+        soundEffectsEnabled = newState;
+        saveSettings();
+    }
+
+    // Rapid toggles only queue the latest state; the file is replaced atomically in the background
+    private void saveSettings() {
+        String settings = "musicEnabled=" + musicEnabled + "\n"
+            + "soundEffectsEnabled=" + soundEffectsEnabled + "\n";
+        persistence.writeAtomic(Gdx.files.local(SETTINGS_FILE), settings.getBytes(StandardCharsets.UTF_8), null);
+    }
+
+    public boolean isMusicEnabled() {
+        return musicEnabled;
+    }
+
+    public boolean isSoundEffectsEnabled() {
+        return soundEffectsEnabled;
+    }
+
+    public void playSound(Sound sound, int priority) {
+        if (!soundEffectsEnabled) {
+            return;
+        }
+        long now = TimeUtils.millis();
+
+        // The same sound again (e.g. hover spam) restarts its voice instead of stacking another one
+        int voice = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceSounds[i] == sound && now - voiceStarted[i] < VOICE_MILLIS) {
+                sound.stop(voiceIds[i]);
+                voice = i;
+                break;
+            }
+        }
+        if (voice == -1) {
+            voice = findVoice(now, priority);
+            if (voice == -1) {
+                return; // Every voice is busy with something more important
+            }
+        }
+
+        long id = sound.play();
+        if (id == -1) {
+            voiceSounds[voice] = null; // The backend had no free source either
+            return;
+        }
+        voiceSounds[voice] = sound;
+        voiceIds[voice] = id;
+        voicePriorities[voice] = priority;
+        voiceStarted[voice] = now;
+    }
+
+    // A free voice, else the oldest of the lowest-priority voices if it is not more important than priority
+    private int findVoice(long now, int priority) {
+        int steal = -1;
+        for (int i = 0; i < MAX_VOICES; i++) {
+            if (voiceSounds[i] == null || now - voiceStarted[i] >= VOICE_MILLIS) {
+                return i;
+            }
+            if (steal == -1 || voicePriorities[i] < voicePriorities[steal]
+                || (voicePriorities[i] == voicePriorities[steal] && voiceStarted[i] < voiceStarted[steal])) {
+                steal = i;
+            }
+        }
+        if (voicePriorities[steal] > priority) {
+            return -1;
+        }
+        voiceSounds[steal].stop(voiceIds[steal]);
+        return steal;
+    }
+
+    // Starts opening a track in the background so a later playMusic() can start it straight away
+    public void preloadMusic(String path) {
+        if (tracks.containsKey(path) || disposed) {
+            return;
+        }
+        Track track = new Track();
+        tracks.put(path, track);
+        loader.execute(() -> {
+            Music music;
+            try {
+                music = Gdx.audio.newMusic(Gdx.files.internal(path));
+            } catch (RuntimeException e) {
+                Gdx.app.error(TAG, "Could not open " + path, e);  // The track stays silent
+                return;
+            }
+            // Playback state is only touched on the render thread
+            Gdx.app.postRunnable(() -> {
+                if (disposed) {
+                    music.dispose();
+                    return;
+                }
+                music.setLooping(true);
+                music.setVolume(0);
+                track.music = music;
+            });
+        });
+    }
+
+    // Fades the current track out and this one in; a paused track resumes where it stopped
+    public void playMusic(String path) {
+        preloadMusic(path);
+        Track track = tracks.get(path);
+        if (track != null) {
+            track.rewind = false;
+        }
+        currentMusic = path;
+    }
+
+    // Fades out and pauses; playMusic() with the same track resumes it from the same point
+    public void pauseMusic() {
+        currentMusic = null;
+    }
+
+    // Fades out and rewinds
+    public void stopMusic() {
+        if (currentMusic != null) {
+            Track track = tracks.get(currentMusic);
+            if (track != null) {
+                track.rewind = true;
+            }
+        }
+        currentMusic = null;
+    }
+
+    // Steps the fades; call once per frame
+    public void update(float delta) {
+        float step = MUSIC_VOLUME * delta / FADE_SECONDS;
+        for (ObjectMap.Entry<String, Track> entry : tracks) {
+            Track track = entry.value;
+            Music music = track.music;
+            if (music == null) {
+                continue;
+            }
+            float target = musicEnabled && entry.key.equals(currentMusic) ? MUSIC_VOLUME : 0;
+            if (target > 0 && !music.isPlaying()) {
+                music.play();
+            }
+            if (track.volume == target) {
+                continue;
+            }
+
+            track.volume = target > track.volume
+                ? Math.min(target, track.volume + step)
+                : Math.max(target, track.volume - step);
+            music.setVolume(track.volume);
+            if (track.volume == 0) {
+                if (track.rewind) {
+                    music.stop();
+                    track.rewind = false;
+                } else {
+                    music.pause();
+                }
+            }
+        }
+    }
+
+    // Silences every track at once, for when the app is paused and update() stops being called.
+    // The current track fades back in once frames run again.
+    public void suspend() {
+        for (Track track : tracks.values()) {
+            if (track.music != null && track.music.isPlaying()) {
+                track.music.pause();
+            }
+            track.volume = 0;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        disposed = true;
+        loader.shutdownNow();
+        for (Track track : tracks.values()) {
+            if (track.music != null) {
+                track.music.dispose();
+            }
+        }
+        tracks.clear();
+    }
+}
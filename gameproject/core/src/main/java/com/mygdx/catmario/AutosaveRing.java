@@ -0,0 +1,201 @@
+package com.mygdx.catmario;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+// Autosaves and quicksaves, kept in a fixed ring of files (autosave-0.sav ... autosave-<n-1>.sav) that the
+// newest save overwrites the oldest of, so they never take more disk space than n saves.
+//
+// capture() runs on the render thread and only copies the entity store into one of two spare buffers.
+// Serializing, compressing and writing the file happen on the persistence thread, so a periodic autosave costs
+// the frame no more than that copy. If both buffers are still being written, the capture is skipped.
+//
+// File layout (big-endian): magic, version, sequence number, save id (the save time), player position, character,
+// name, run id, then the packed world (WorldSerializer.pack without a base; a slot must load on its own).
+// Slots are ordered by the sequence number, which counts up from the newest slot on disk: save times can repeat
+// (an F6 quicksave in the same frame as a periodic autosave) or go backwards with the system clock.
+public class AutosaveRing {
+    private static final String TAG = "Autosave";
+    private static final int MAGIC = 0x434D4153; // "CMAS"
+    private static final int VERSION = 1;
+
+    private final FileHandle directory;
+    private final int slotCount;
+    private final PersistenceExecutor persistence;
+    private final Buffer[] buffers = {new Buffer(), new Buffer()};
+    private int nextSlot;       // The oldest (or an empty) slot
+    private long nextSequence;  // One past the newest slot's
+
+    // A copy of the world waiting to be written; busy from capture() until it has been serialized
+    private static class Buffer {
+        final AtomicBoolean busy = new AtomicBoolean();
+        EntityStore entities;
+        long sequence;
+        int player;
+        int score;
+        int tick;
+        long saveId;
+        int selectedCharacter;
+        String characterName;
+        long runId;
+    }
+
+    public AutosaveRing(FileHandle directory, int slotCount, PersistenceExecutor persistence) {
+        this.directory = directory;
+        this.slotCount = slotCount;
+        this.persistence = persistence;
+
+        // Carry on after the newest slot from the last session
+        long oldest = Long.MAX_VALUE;
+        long newest = -1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            long sequence = readSequence(slot);
+            if (sequence < oldest) {
+                oldest = sequence;
+                nextSlot = slot;
+            }
+            newest = Math.max(newest, sequence);
+        }
+        nextSequence = newest + 1;
+    }
+
+    // Copies the world as it is now for saving in the background. Returns false if the save was skipped.
+    public boolean capture(EntityStore entities, int player, int score, int tick,
+                           int selectedCharacter, String characterName, long runId) {
+        Buffer buffer = null;
+        for (Buffer candidate : buffers) {
+            if (candidate.busy.compareAndSet(false, true)) {
+                buffer = candidate;
+                break;
+            }
+        }
+        if (buffer == null) {
+            Gdx.app.log(TAG, "Skipped a save; the last two are still being written");
+            return false;
+        }
+
+        if (buffer.entities == null || buffer.entities.getCapacity() != entities.getCapacity()) {
+            buffer.entities = new EntityStore(entities.getCapacity());
+        }
+        buffer.entities.copyFrom(entities);
+        buffer.sequence = nextSequence++;
+        buffer.player = player;
+        buffer.score = score;
+        buffer.tick = tick;
+        buffer.saveId = System.currentTimeMillis();
+        buffer.selectedCharacter = selectedCharacter;
+        buffer.characterName = characterName;
+        buffer.runId = runId;
+
+        FileHandle file = slotFile(nextSlot);
+        nextSlot = (nextSlot + 1) % slotCount;
+        Buffer captured = buffer;
+        // Not keyed: a replaced write would never hand its buffer back
+        persistence.execute(null, () -> {
+            byte[] bytes;
+            try {
+                bytes = encode(captured);
+            } finally {
+                captured.busy.set(false);  // The copy is no longer needed once it is serialized
+            }
+            PersistenceExecutor.replaceFile(file, bytes);
+        }, () -> Gdx.app.log(TAG, "Saved " + file.name()));
+        return true;
+    }
+
+    private static byte[] encode(Buffer buffer) {
+        byte[] world = WorldSerializer.write(buffer.entities, buffer.player, buffer.score, buffer.tick);
+        byte[] packed = WorldSerializer.pack(world, null);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + packed.length);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(buffer.sequence);
+            out.writeLong(buffer.saveId);
+            out.writeFloat(buffer.entities.getX(buffer.player));
+            out.writeFloat(buffer.entities.getY(buffer.player));
+            out.writeInt(buffer.selectedCharacter);
+            out.writeUTF(buffer.characterName);
+            out.writeLong(buffer.runId);
+            out.writeInt(packed.length);
+            out.write(packed);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not encode autosave", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // The most recent save on disk, or null if there is none that can be read
+    public SaveData loadNewest() {
+        int newest = -1;
+        long newestSequence = -1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            long sequence = readSequence(slot);
+            if (sequence > newestSequence) {
+                newestSequence = sequence;
+                newest = slot;
+            }
+        }
+        return newest >= 0 ? load(newest) : null;
+    }
+
+    // Returns null if the slot is empty or damaged
+    public SaveData load(int slot) {
+        FileHandle file = slotFile(slot);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.readBytes()))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                Gdx.app.error(TAG, file.name() + " is not a supported autosave");
+                return null;
+            }
+            in.readLong();  // Sequence number
+            long saveId = in.readLong();
+            float characterX = in.readFloat();
+            float characterY = in.readFloat();
+            int selectedCharacter = in.readInt();
+            String characterName = in.readUTF();
+            long runId = in.readLong();
+            byte[] packed = new byte[in.readInt()];
+            in.readFully(packed);
+            byte[] world = WorldSerializer.unpack(packed, null);
+            return new SaveData(saveId, selectedCharacter, characterName, characterX, characterY, runId, world);
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error(TAG, "Could not read " + file.name(), e);
+            return null;
+        }
+    }
+
+    // Sequence number of a slot from its header alone, -1 if it is empty or unreadable
+    private long readSequence(int slot) {
+        FileHandle file = slotFile(slot);
+        if (!file.exists()) {
+            return -1;
+        }
+        try (DataInputStream in = new DataInputStream(file.read())) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return -1;
+            }
+            return in.readLong();
+        } catch (IOException | GdxRuntimeException e) {
+            return -1;
+        }
+    }
+
+    private FileHandle slotFile(int slot) {
+        return directory.child("autosave-" + slot + ".sav");
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+}
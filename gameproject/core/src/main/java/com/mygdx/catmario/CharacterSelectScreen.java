@@ -2,32 +2,37 @@ package com.mygdx.catmario;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Rectangle;
 
-public class CharacterSelectScreen implements Screen {
+public class CharacterSelectScreen implements Screen, MenuInput.Listener {
 
     private final Main game;
     private final SpriteBatch batch;
-    private final Texture backgroundTexture;
-    private final Texture character1;
-    private final Texture character2;
-    private final Texture selectButton;
+    private final TextureRegion backgroundTexture;
+    private final TextureRegion character1;
+    private final TextureRegion character2;
+    private final TextureRegion selectButton;
     private final Rectangle character1Bounds;
     private final Rectangle character2Bounds;
     private final Rectangle selectButtonBounds;
     private final ShapeRenderer shapeRenderer;
 
-    private boolean isHoveringCharacter1 = false;
-    private boolean isHoveringCharacter2 = false;
-    private boolean isHoveringSelect = false;
+    // Clicks and hovers on the characters and the select button, plus typing for the name
+    private final MenuInput menuInput;
+    private final InputMultiplexer input;
+    private final int character1Widget;
+    private final int character2Widget;
+    private final int selectWidget;
 
     // Sound effects
     private final Sound hoverSound;
@@ -53,14 +58,14 @@ public class CharacterSelectScreen implements Screen {
         this.batch = game.batch;
 
         // Load background and character images
-        backgroundTexture = new Texture("characterselect.png");
-        character1 = new Texture("character1.png");
-        character2 = new Texture("character2.png");
-        selectButton = new Texture("select.png");
+        backgroundTexture = game.resources.getRegion("characterselect.png");
+        character1 = game.resources.getRegion("character1.png");
+        character2 = game.resources.getRegion("character2.png");
+        selectButton = game.resources.getRegion("select.png");
 
         // Load sounds for hover and click
-        hoverSound = Gdx.audio.newSound(Gdx.files.internal("hover.wav"));
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("click.wav"));
+        hoverSound = game.resources.getSound("hover.wav");
+        clickSound = game.resources.getSound("click.wav");
 
         // Set positions and sizes for characters
         int screenWidth = Gdx.graphics.getWidth();
@@ -87,6 +92,22 @@ public class CharacterSelectScreen implements Screen {
         // Initialize ShapeRenderer and font
         shapeRenderer = new ShapeRenderer();
         font = new BitmapFont();
+
+        menuInput = new MenuInput(this);
+        character1Widget = menuInput.add(character1Bounds);
+        character2Widget = menuInput.add(character2Bounds);
+        selectWidget = menuInput.add(selectButtonBounds);
+        input = new InputMultiplexer(menuInput, new InputAdapter() {
+            @Override
+            public boolean keyDown(int keycode) {
+                return isEnteringName && handleNameKey(keycode);
+            }
+
+            @Override
+            public boolean keyTyped(char character) {
+                return isEnteringName && handleNameCharacter(character);
+            }
+        });
     }
 
     @Override
@@ -141,104 +162,65 @@ public class CharacterSelectScreen implements Screen {
             font.getData().setScale(2.5f);
             font.draw(batch, characterName.toString(), textBoxBounds.x + 20, textBoxBounds.y + textBoxBounds.height - 20);  // Show entered name
             batch.end();
-
-            // Handle name input
-            handleNameInput();
-        } else {
-            // Handle character selection and hover
-            handleHoverAndInput();
         }
     }
 
-    private void handleHoverAndInput() {
-        // Get the coordinates of the touch and adjust for camera's Y-axis
-        float touchX = Gdx.input.getX();
-        float touchY = Gdx.graphics.getHeight() - Gdx.input.getY();
-
-        // Handle hover sound effects
-        handleHoverSound(touchX, touchY);
+    @Override
+    public void hovered(int widget) {
+        if (widget != -1) {
+            game.audio.playSound(hoverSound, AudioManager.PRIORITY_HOVER);  // Play hover sound on the character or select button
+        }
+    }
 
+    @Override
+    public void clicked(int widget) {
         // Handle character selection and select button click
-        if (Gdx.input.justTouched()) {
-            if (character1Bounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);  // Play click sound for character 1
-                selectedCharacter = 1;
-            } else if (character2Bounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);  // Play click sound for character 2
-                selectedCharacter = 2;
-            } else if (selectButtonBounds.contains(touchX, touchY) && selectedCharacter != 0) {
-                SoundManager.playSound(clickSound);  // Play click sound for the select button
-                isEnteringName = true;  // Proceed to name input, hide character selection
-            }
+        if (widget == character1Widget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);  // Play click sound for character 1
+            selectedCharacter = 1;
+        } else if (widget == character2Widget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);  // Play click sound for character 2
+            selectedCharacter = 2;
+        } else if (widget == selectWidget && selectedCharacter != 0) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);  // Play click sound for the select button
+            isEnteringName = true;  // Proceed to name input, hide character selection
+            menuInput.setEnabled(character1Widget, false);
+            menuInput.setEnabled(character2Widget, false);
+            menuInput.setEnabled(selectWidget, false);
         }
     }
 
-    private void handleNameInput() {
-        // Handle keyboard input for entering character name
-        if (Gdx.input.isKeyJustPressed(Input.Keys.BACKSPACE) && characterName.length() > 0) {
-            characterName.deleteCharAt(characterName.length() - 1);  // Remove the last character
-        } else {
-            char typedChar = getTypedCharacter();  // Get the typed character
-            if (typedChar != '\0' && Character.isLetterOrDigit(typedChar) && characterName.length() < 20) {  // Limit to 20 characters
-                characterName.append(typedChar);  // Append typed character to the name
+    private boolean handleNameKey(int keycode) {
+        if (keycode == Input.Keys.BACKSPACE) {
+            if (characterName.length() > 0) {
+                characterName.deleteCharAt(characterName.length() - 1);  // Remove the last character
             }
+            return true;
         }
 
         // Confirm name when Enter is pressed
-        if (Gdx.input.isKeyJustPressed(Input.Keys.ENTER) && characterName.length() > 0) {
+        if (keycode == Input.Keys.ENTER && characterName.length() > 0) {
             // Reset alpha before entering the game screen
             batch.setColor(1, 1, 1, 1);  // Reset alpha to 1 (fully opaque)
-            
-            // Proceed to game
-            game.setScreen(new GameScreen(game, selectedCharacter, characterName.toString()));  // Start game with selected character and name
-        }
-    }
 
-    // Method to get the typed character
-    private char getTypedCharacter() {
-        for (int i = Input.Keys.A; i <= Input.Keys.Z; i++) {
-            if (Gdx.input.isKeyJustPressed(i)) {
-                return (char) (i - Input.Keys.A + 'A');  // Return uppercase character
-            }
-        }
-        for (int i = Input.Keys.NUM_0; i <= Input.Keys.NUM_9; i++) {
-            if (Gdx.input.isKeyJustPressed(i)) {
-                return (char) (i - Input.Keys.NUM_0 + '0');  // Return number character
-            }
+            // Proceed to game once its assets have streamed in
+            int character = selectedCharacter;
+            String name = characterName.toString();
+            GameScreen.queueAssets(game.resources, character);
+            game.setScreen(new LoadingScreen(game, () -> new GameScreen(game, character, name)));  // Start game with selected character and name
+            return true;
         }
-        return '\0';  // Return null character if no valid input
+        return false;
     }
 
-    private void handleHoverSound(float touchX, float touchY) {
-        // Check hover over character 1
-        if (character1Bounds.contains(touchX, touchY)) {
-            if (!isHoveringCharacter1) {
-                SoundManager.playSound(hoverSound);  // Play hover sound for character 1
-                isHoveringCharacter1 = true;
-            }
-        } else {
-            isHoveringCharacter1 = false;
-        }
-
-        // Check hover over character 2
-        if (character2Bounds.contains(touchX, touchY)) {
-            if (!isHoveringCharacter2) {
-                SoundManager.playSound(hoverSound);  // Play hover sound for character 2
-                isHoveringCharacter2 = true;
-            }
-        } else {
-            isHoveringCharacter2 = false;
-        }
-
-        // Check hover over select button
-        if (selectButtonBounds.contains(touchX, touchY)) {
-            if (!isHoveringSelect) {
-                SoundManager.playSound(hoverSound);  // Play hover sound for select button
-                isHoveringSelect = true;
-            }
-        } else {
-            isHoveringSelect = false;
+    // Typed characters arrive as events, so fast typing is not lost between frames
+    private boolean handleNameCharacter(char typed) {
+        char c = Character.toUpperCase(typed);  // Names are shown in upper case
+        boolean allowed = (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+        if (allowed && characterName.length() < 20) {  // Limit to 20 characters
+            characterName.append(c);  // Append typed character to the name
         }
+        return allowed;
     }
 
     @Override
@@ -251,19 +233,28 @@ public class CharacterSelectScreen implements Screen {
     public void resume() {}
 
     @Override
-    public void hide() {}
+    public void hide() {
+        Gdx.input.setInputProcessor(null);
+    }
 
     @Override
-    public void show() {}
+    public void show() {
+        // Shown again from the warm screen cache: start over with no character picked
+        selectedCharacter = 0;
+        isEnteringName = false;
+        characterName.setLength(0);
+        menuInput.reset();
+        Gdx.input.setInputProcessor(input);
+    }
 
     @Override
     public void dispose() {
-        backgroundTexture.dispose();
-        character1.dispose();
-        character2.dispose();
-        selectButton.dispose();
-        hoverSound.dispose();  // Dispose hover sound
-        clickSound.dispose();  // Dispose click sound
+        game.resources.release(backgroundTexture);
+        game.resources.release(character1);
+        game.resources.release(character2);
+        game.resources.release(selectButton);
+        game.resources.release(hoverSound);  // Release hover sound
+        game.resources.release(clickSound);  // Release click sound
         shapeRenderer.dispose();
         font.dispose();
     }
@@ -0,0 +1,322 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+// Every simulated thing (the player, bullets, pickups, later enemies) is an entity stored here.
+// Components are parallel arrays indexed by slot, and live entities always fill slots [0, size), so a system is
+// a plain loop over dense arrays. Which components an entity has is a bit mask; a query is a mask test per slot.
+// Nothing is allocated after construction, so spawning a new kind of actor costs no more than a bullet.
+//
+// Entity ids stay valid until destroy(), although destroying moves the last entity into the freed slot.
+// Systems that retire many entities at once clear their masks instead and call compact() once.
+// Systems in this package index the arrays by slot; everything else goes through ids.
+public class EntityStore {
+    // Component bits
+    public static final int TRANSFORM = 1;        // x, y, width, height and the position before the last tick
+    public static final int VELOCITY = 1 << 1;    // vx, vy
+    public static final int GRAVITY = 1 << 2;     // Falls
+    public static final int SOLID = 1 << 3;       // Stopped by level tiles; grounded while standing on one
+    public static final int PLAYER = 1 << 4;      // Driven by the tick's input; jump count
+    public static final int PROJECTILE = 1 << 5;  // Retired once it leaves the world
+    public static final int SPRITE = 1 << 6;      // Drawn with a sprite id
+    public static final int HEALTH = 1 << 7;      // Lives and HP
+    public static final int PICKUP = 1 << 8;      // Collected by the player on contact; value
+
+    private final int capacity;
+    private final int[] ids;    // Slot -> entity id; slots [size, capacity) hold the free ids
+    private final int[] slots;  // Entity id -> slot
+    private int size;
+
+    final int[] mask;
+    final float[] x;
+    final float[] y;
+    final float[] prevX;
+    final float[] prevY;
+    final float[] width;
+    final float[] height;
+    final float[] vx;
+    final float[] vy;
+    final boolean[] grounded;
+    final int[] jumps;
+    final int[] sprite;
+    final int[] lives;
+    final int[] hp;
+    final int[] value;
+
+    public EntityStore(int capacity) {
+        this.capacity = capacity;
+        ids = new int[capacity];
+        slots = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ids[i] = i;
+            slots[i] = i;
+        }
+        mask = new int[capacity];
+        x = new float[capacity];
+        y = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        width = new float[capacity];
+        height = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        grounded = new boolean[capacity];
+        jumps = new int[capacity];
+        sprite = new int[capacity];
+        lives = new int[capacity];
+        hp = new int[capacity];
+        value = new int[capacity];
+    }
+
+    // Returns the new entity's id with all of its component data zeroed, or -1 if the store is full.
+    // components must not be 0, which marks a slot for compact()
+    public int create(int components) {
+        if (size == capacity) {
+            return -1;
+        }
+        int slot = size++;
+        mask[slot] = components;
+        x[slot] = 0;
+        y[slot] = 0;
+        prevX[slot] = 0;
+        prevY[slot] = 0;
+        width[slot] = 0;
+        height[slot] = 0;
+        vx[slot] = 0;
+        vy[slot] = 0;
+        grounded[slot] = false;
+        jumps[slot] = 0;
+        sprite[slot] = 0;
+        lives[slot] = 0;
+        hp[slot] = 0;
+        value[slot] = 0;
+        return ids[slot];
+    }
+
+    public void destroy(int entity) {
+        destroyAt(slots[entity]);
+    }
+
+    // Swap-remove: the last entity moves into the freed slot, so a loop that destroys at slot i must visit i again
+    void destroyAt(int slot) {
+        int last = --size;
+        int id = ids[slot];
+        int lastId = ids[last];
+        mask[slot] = mask[last];
+        x[slot] = x[last];
+        y[slot] = y[last];
+        prevX[slot] = prevX[last];
+        prevY[slot] = prevY[last];
+        width[slot] = width[last];
+        height[slot] = height[last];
+        vx[slot] = vx[last];
+        vy[slot] = vy[last];
+        grounded[slot] = grounded[last];
+        jumps[slot] = jumps[last];
+        sprite[slot] = sprite[last];
+        lives[slot] = lives[last];
+        hp[slot] = hp[last];
+        value[slot] = value[last];
+        mask[last] = 0;
+
+        ids[slot] = lastId;
+        slots[lastId] = slot;
+        ids[last] = id;  // The freed id goes back into the free range
+        slots[id] = last;
+    }
+
+    // Removes every entity whose mask has been cleared to 0 (see destroyLater) in one pass.
+    // Survivors keep their order, which a run of swap-removes would not.
+    public void compact() {
+        int write = 0;
+        for (int read = 0; read < size; read++) {
+            if (mask[read] == 0) {
+                continue;
+            }
+            if (write != read) {
+                mask[write] = mask[read];
+                x[write] = x[read];
+                y[write] = y[read];
+                prevX[write] = prevX[read];
+                prevY[write] = prevY[read];
+                width[write] = width[read];
+                height[write] = height[read];
+                vx[write] = vx[read];
+                vy[write] = vy[read];
+                grounded[write] = grounded[read];
+                jumps[write] = jumps[read];
+                sprite[write] = sprite[read];
+                lives[write] = lives[read];
+                hp[write] = hp[read];
+                value[write] = value[read];
+                mask[read] = 0;
+
+                // Swapping keeps ids a permutation, so the dead ids end up in the free range behind the survivors
+                int id = ids[read];
+                ids[read] = ids[write];
+                ids[write] = id;
+                slots[id] = write;
+            }
+            write++;
+        }
+        for (int i = write; i < size; i++) {
+            slots[ids[i]] = i;
+        }
+        size = write;
+    }
+
+    // Marks the entity in slot for removal by the next compact(); until then it matches no query
+    void destroyLater(int slot) {
+        mask[slot] = 0;
+    }
+
+    // Makes this store an exact copy of source, which must have the same capacity; ids stay the same
+    public void copyFrom(EntityStore source) {
+        if (source.capacity != capacity) {
+            throw new GdxRuntimeException("Capacity " + source.capacity + " does not match " + capacity);
+        }
+        int n = source.size;
+        size = n;
+        System.arraycopy(source.ids, 0, ids, 0, capacity);
+        System.arraycopy(source.slots, 0, slots, 0, capacity);
+        System.arraycopy(source.mask, 0, mask, 0, n);
+        System.arraycopy(source.x, 0, x, 0, n);
+        System.arraycopy(source.y, 0, y, 0, n);
+        System.arraycopy(source.prevX, 0, prevX, 0, n);
+        System.arraycopy(source.prevY, 0, prevY, 0, n);
+        System.arraycopy(source.width, 0, width, 0, n);
+        System.arraycopy(source.height, 0, height, 0, n);
+        System.arraycopy(source.vx, 0, vx, 0, n);
+        System.arraycopy(source.vy, 0, vy, 0, n);
+        System.arraycopy(source.grounded, 0, grounded, 0, n);
+        System.arraycopy(source.jumps, 0, jumps, 0, n);
+        System.arraycopy(source.sprite, 0, sprite, 0, n);
+        System.arraycopy(source.lives, 0, lives, 0, n);
+        System.arraycopy(source.hp, 0, hp, 0, n);
+        System.arraycopy(source.value, 0, value, 0, n);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            mask[i] = 0;
+        }
+        size = 0;
+    }
+
+    public boolean isAlive(int entity) {
+        return entity >= 0 && entity < capacity && slots[entity] < size;
+    }
+
+    public boolean has(int entity, int components) {
+        return (mask[slots[entity]] & components) == components;
+    }
+
+    // Number of live entities that have all of the given components
+    public int count(int components) {
+        int matches = 0;
+        for (int i = 0; i < size; i++) {
+            if ((mask[i] & components) == components) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int idAt(int slot) {
+        return ids[slot];
+    }
+
+    public int slotOf(int entity) {
+        return slots[entity];
+    }
+
+    // Places the entity without interpolating from where it was
+    public void setPosition(int entity, float newX, float newY) {
+        int slot = slots[entity];
+        x[slot] = newX;
+        y[slot] = newY;
+        prevX[slot] = newX;
+        prevY[slot] = newY;
+    }
+
+    public void setSize(int entity, float newWidth, float newHeight) {
+        int slot = slots[entity];
+        width[slot] = newWidth;
+        height[slot] = newHeight;
+    }
+
+    public void setVelocity(int entity, float newVx, float newVy) {
+        int slot = slots[entity];
+        vx[slot] = newVx;
+        vy[slot] = newVy;
+    }
+
+    public void setSprite(int entity, int spriteId) {
+        sprite[slots[entity]] = spriteId;
+    }
+
+    public void setHealth(int entity, int newLives, int newHp) {
+        int slot = slots[entity];
+        lives[slot] = newLives;
+        hp[slot] = newHp;
+    }
+
+    public void setValue(int entity, int newValue) {
+        value[slots[entity]] = newValue;
+    }
+
+    public int getMask(int entity) {
+        return mask[slots[entity]];
+    }
+
+    public float getX(int entity) {
+        return x[slots[entity]];
+    }
+
+    public float getY(int entity) {
+        return y[slots[entity]];
+    }
+
+    public float getWidth(int entity) {
+        return width[slots[entity]];
+    }
+
+    public float getHeight(int entity) {
+        return height[slots[entity]];
+    }
+
+    public float getVelocityX(int entity) {
+        return vx[slots[entity]];
+    }
+
+    public float getVelocityY(int entity) {
+        return vy[slots[entity]];
+    }
+
+    public int getJumpCount(int entity) {
+        return jumps[slots[entity]];
+    }
+
+    public int getLives(int entity) {
+        return lives[slots[entity]];
+    }
+
+    public int getHp(int entity) {
+        return hp[slots[entity]];
+    }
+
+    // Writes the position blended between the last two ticks into out; alpha comes from the SimulationClock
+    public Vector2 getInterpolatedPosition(int entity, float alpha, Vector2 out) {
+        int slot = slots[entity];
+        return out.set(prevX[slot] + (x[slot] - prevX[slot]) * alpha, prevY[slot] + (y[slot] - prevY[slot]) * alpha);
+    }
+}
@@ -0,0 +1,246 @@
+package com.mygdx.catmario;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.StringBuilder;
+
+// Records per-phase frame timings and rendering counters in a ring buffer and shows them as an overlay.
+// Recording is always on and allocation-free; the GL call counters are only collected while the overlay is visible.
+public class FrameProfiler implements Disposable {
+    // Phases of GameScreen.render
+    public static final int UPDATE = 0;
+    public static final int WORLD = 1;
+    public static final int HUD = 2;
+    public static final int BORDER = 3;
+    private static final int PHASE_COUNT = 4;
+    private static final String[] PHASE_NAMES = {"update", "world", "hud", "border"};
+
+    private static final int HISTORY = 600; // Frames kept, about 10 seconds at 60 fps
+    private static final long JVM_SAMPLE_NANOS = 1_000_000_000L; // Allocation and GC stats are sampled once a second
+
+    // Ring buffers, one entry per frame
+    private final long[] frameNanos = new long[HISTORY];
+    private final long[] phaseNanos = new long[HISTORY * PHASE_COUNT];
+    private final int[] renderCalls = new int[HISTORY];
+    private final int[] drawCalls = new int[HISTORY];
+    private final int[] textureBindings = new int[HISTORY];
+    private final int[] shaderSwitches = new int[HISTORY];
+    private final long[] sortScratch = new long[HISTORY]; // For percentiles
+    private int frame;     // Slot of the frame being recorded
+    private int recorded;  // Number of filled slots
+
+    private long frameStart;
+    private final long[] phaseStart = new long[PHASE_COUNT];  // Per phase, so phases may nest or overlap
+    private int maxSpritesInBatch;
+
+    private final GLProfiler glProfiler;
+    private boolean visible;
+
+    // JVM counters; the allocation counter is only available on HotSpot-based JVMs
+    private final com.sun.management.ThreadMXBean allocationBean;
+    private final long renderThreadId;
+    private final List<GarbageCollectorMXBean> gcBeans;
+    private long lastJvmSample;
+    private long lastAllocatedBytes;
+    private long lastGcCount;
+    private long lastGcMillis;
+    private long allocationRate;   // Bytes per second on the render thread
+    private long gcCountPerSecond;
+    private long gcMillisPerSecond;
+
+    private final BitmapFont font;
+    private final StringBuilder text = new StringBuilder(512);
+
+    public FrameProfiler() {
+        glProfiler = new GLProfiler(Gdx.graphics);
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        allocationBean = threadBean instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) threadBean : null;
+        renderThreadId = Thread.currentThread().getId();
+        gcBeans = ManagementFactory.getGarbageCollectorMXBeans();
+        // Baseline, so the first rates cover one sample interval rather than everything since the JVM started
+        lastJvmSample = System.nanoTime();
+        lastAllocatedBytes = allocationBean != null ? allocationBean.getThreadAllocatedBytes(renderThreadId) : 0;
+        lastGcCount = totalGcCount();
+        lastGcMillis = totalGcMillis();
+
+        font = new BitmapFont();
+        font.setColor(Color.YELLOW);
+        font.getData().setScale(1.2f);
+    }
+
+    public void beginFrame() {
+        frameStart = System.nanoTime();
+        glProfiler.reset(); // Counts GL calls of this frame only (the overlay itself is drawn after endFrame)
+        int base = frame * PHASE_COUNT;
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseNanos[base + i] = 0;
+        }
+    }
+
+    public void begin(int phase) {
+        phaseStart[phase] = System.nanoTime();
+    }
+
+    public void end(int phase) {
+        phaseNanos[frame * PHASE_COUNT + phase] += System.nanoTime() - phaseStart[phase];
+    }
+
+    // Call right after batch.end(), before the batch is begun again
+    public void recordBatch(SpriteBatch batch) {
+        renderCalls[frame] += batch.renderCalls;
+        maxSpritesInBatch = Math.max(maxSpritesInBatch, batch.maxSpritesInBatch);
+    }
+
+    public void endFrame() {
+        long now = System.nanoTime();
+        frameNanos[frame] = now - frameStart;
+        drawCalls[frame] = glProfiler.getDrawCalls();
+        textureBindings[frame] = glProfiler.getTextureBindings();
+        shaderSwitches[frame] = glProfiler.getShaderSwitches();
+
+        if (now - lastJvmSample >= JVM_SAMPLE_NANOS) {
+            sampleJvm(now);
+        }
+
+        frame = (frame + 1) % HISTORY;
+        recorded = Math.min(recorded + 1, HISTORY);
+        renderCalls[frame] = 0;
+    }
+
+    private void sampleJvm(long now) {
+        double seconds = (now - lastJvmSample) / 1e9;
+        lastJvmSample = now;
+
+        if (allocationBean != null) {
+            long allocated = allocationBean.getThreadAllocatedBytes(renderThreadId);
+            allocationRate = (long) ((allocated - lastAllocatedBytes) / seconds);
+            lastAllocatedBytes = allocated;
+        }
+
+        long gcCount = totalGcCount();
+        long gcMillis = totalGcMillis();
+        gcCountPerSecond = (long) ((gcCount - lastGcCount) / seconds);
+        gcMillisPerSecond = (long) ((gcMillis - lastGcMillis) / seconds);
+        lastGcCount = gcCount;
+        lastGcMillis = gcMillis;
+    }
+
+    private long totalGcCount() {
+        long count = 0;
+        for (int i = 0; i < gcBeans.size(); i++) {
+            count += Math.max(0, gcBeans.get(i).getCollectionCount());
+        }
+        return count;
+    }
+
+    private long totalGcMillis() {
+        long millis = 0;
+        for (int i = 0; i < gcBeans.size(); i++) {
+            millis += Math.max(0, gcBeans.get(i).getCollectionTime());
+        }
+        return millis;
+    }
+
+    public void toggle() {
+        visible = !visible;
+        if (visible) {
+            glProfiler.enable();
+        } else {
+            glProfiler.disable();
+        }
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    // Frame time at the given percentile (0..100) over the recorded history, in nanoseconds
+    public long getFramePercentile(int percentile) {
+        if (recorded == 0) {
+            return 0;
+        }
+        System.arraycopy(frameNanos, 0, sortScratch, 0, recorded);
+        Arrays.sort(sortScratch, 0, recorded);
+        return sortScratch[Math.min(recorded - 1, recorded * percentile / 100)];
+    }
+
+    public void draw(SpriteBatch batch) {
+        if (!visible) {
+            return;
+        }
+        int last = (frame + HISTORY - 1) % HISTORY; // Most recent complete frame
+
+        text.setLength(0);
+        text.append("frame p50 ");
+        appendMillis(getFramePercentile(50));
+        text.append(" ms  p99 ");
+        appendMillis(getFramePercentile(99));
+        text.append(" ms\n");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            text.append(PHASE_NAMES[i]).append(' ');
+            appendMillis(phaseNanos[last * PHASE_COUNT + i]);
+            text.append(" ms\n");
+        }
+        text.append("render calls ").append(renderCalls[last])
+            .append("  max sprites/batch ").append(maxSpritesInBatch).append('\n');
+        text.append("GL draw calls ").append(drawCalls[last])
+            .append("  texture binds ").append(textureBindings[last])
+            .append("  shader switches ").append(shaderSwitches[last]).append('\n');
+        text.append("alloc ").append(allocationRate / 1024).append(" KB/s  GC ")
+            .append(gcCountPerSecond).append("/s, ").append(gcMillisPerSecond).append(" ms/s\n");
+        text.append("F3 hide  F4 export CSV");
+
+        batch.begin();
+        font.draw(batch, text, Gdx.graphics.getWidth() - 520, Gdx.graphics.getHeight() - 20);
+        batch.end();
+    }
+
+    private void appendMillis(long nanos) {
+        long micros = nanos / 1000;
+        text.append(micros / 1000).append('.').append((micros / 100) % 10).append((micros / 10) % 10);
+    }
+
+    // Writes the recorded history, oldest frame first, through the background persistence thread
+    public void exportCsv(PersistenceExecutor persistence) {
+        java.lang.StringBuilder csv = new java.lang.StringBuilder(recorded * 64);
+        csv.append("frame,frame_ns");
+        for (String phase : PHASE_NAMES) {
+            csv.append(',').append(phase).append("_ns");
+        }
+        csv.append(",render_calls,draw_calls,texture_bindings,shader_switches\n");
+
+        int first = (frame + HISTORY - recorded) % HISTORY;
+        for (int n = 0; n < recorded; n++) {
+            int i = (first + n) % HISTORY;
+            csv.append(n).append(',').append(frameNanos[i]);
+            for (int p = 0; p < PHASE_COUNT; p++) {
+                csv.append(',').append(phaseNanos[i * PHASE_COUNT + p]);
+            }
+            csv.append(',').append(renderCalls[i]).append(',').append(drawCalls[i])
+                .append(',').append(textureBindings[i]).append(',').append(shaderSwitches[i]).append('\n');
+        }
+
+        String path = "profiles/frame-profile-" + System.currentTimeMillis() + ".csv";
+        persistence.writeAtomic(Gdx.files.local(path), csv.toString().getBytes(StandardCharsets.UTF_8),
+            () -> Gdx.app.log("FrameProfiler", "Wrote " + path));
+    }
+
+    @Override
+    public void dispose() {
+        glProfiler.disable();
+        font.dispose();
+    }
+}
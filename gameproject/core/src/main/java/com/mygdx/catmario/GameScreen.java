@@ -1,22 +1,30 @@
 package com.mygdx.catmario;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.OrthographicCamera;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
 
 public class GameScreen implements Screen {
     private final Main game;
     private final SpriteBatch batch;
-    private Texture characterTexture;
-    private final Texture backgroundTexture;
-    private final Texture groundTexture;
+    private TextureRegion characterTexture;
+    private final TextureRegion backgroundTexture;
+    private final TextureRegion bulletTexture; // Shared by every bullet
     private final int selectedCharacter;
     private final String characterName;
 
@@ -25,172 +33,382 @@ public class GameScreen implements Screen {
     private float characterHeight;
     private final Vector2 characterPosition;
 
-    // Ground properties
-    private static final float GROUND_Y = 0;
-    private static final float GROUND_HEIGHT = 300;
-
-    // Music for background
-    private final Music backgroundMusic;
-
-    // Character controller
-    private final CharacterController characterController;
+    // Level layout and its baked tile geometry
+    private static final String LEVEL_PATH = "levels/level1.txt";
+    private final TileMap level;
+    private final TileMapRenderer levelRenderer;
+
+    // Everything is laid out in a fixed virtual resolution that the viewports scale to the window
+    private static final float VIRTUAL_WIDTH = 1920;
+    private static final float VIRTUAL_HEIGHT = 1080;
+    private final OrthographicCamera camera;  // Follows the player through the level
+    private final Viewport viewport;
+    private final Viewport hudViewport;       // Fixed, for the status box
+    private final Rectangle view = new Rectangle();             // World area the camera sees, for culling
+    private final Matrix4 screenProjection = new Matrix4();     // The shared batch's projection, restored after each frame
+
+    // Background music, played through game.audio
+    static final String MUSIC = "gamemusic.mp3";
+
+    // The simulated world and the entity id of the player in it
+    private final KeyboardInput keyboardInput;
+    private final GameWorld world;
+    private final int player;
+    private final RenderSystem renderSystem;
+
+    // Fixed-step simulation clock; the world ticks at TICK_RATE regardless of the display refresh rate
+    private static final float TICK_RATE = 60;
+    private static final int MAX_STEPS_PER_FRAME = 5;
+    private final SimulationClock simulationClock;
+    // Set with -Dcatmario.simulationThread=true to tick the world on its own thread (null otherwise)
+    private static final String SIMULATION_THREAD_PROPERTY = "catmario.simulationThread";
+    private final SimulationThread simulation;
+    private final InputRecording recording;  // Every tick's input since the level started, saved with F5; null for loaded games
+    private final long runId;  // Shared by every save of this play-through, including the one it was loaded from
+    // The world is autosaved into game.autosaves every AUTOSAVE_TICKS; F6 quicksaves there too, F9 loads the newest
+    private static final int AUTOSAVE_TICKS = 60 * 60;  // A minute of play at TICK_RATE
+    private int lastAutosaveTick;
 
     // Add status elements
-    private final BitmapFont font;  // Font for drawing text
-    private final Texture heartTexture;   // Texture for hearts
-    private Texture characterFaceTexture;  // Texture for character face
-    private final int lives = 3;          // Number of lives (3 hearts)
-    private final int hp = 100;           // HP for each life (max 100)
+    private final BitmapFont font;  // Font for drawing text, pre-scaled for the status box
+    private final TextureRegion heartTexture;   // Hearts in the status box, and the heart pickups
+    private TextureRegion characterFaceTexture;  // Texture for character face
+    private final HudSystem hudSystem;
 
     // Add background block for status
-    private final Texture statusBackgroundTexture;
+    private final TextureRegion statusBackgroundTexture;
 
     // Add ShapeRenderer for drawing the border
     private final ShapeRenderer shapeRenderer;
 
+    // Frame timing overlay (F3 toggles, F4 exports a CSV trace)
+    private final FrameProfiler profiler;
+
+    // Escape opens the pause menu. An event rather than a poll, so the Escape that closes the pause menu again
+    // is consumed there and never reaches this screen.
+    private final InputAdapter input = new InputAdapter() {
+        @Override
+        public boolean keyDown(int keycode) {
+            if (keycode == Input.Keys.ESCAPE) {
+                pauseGame();
+                return true;
+            }
+            return false;
+        }
+    };
+
     public GameScreen(Main game, int selectedCharacter, String characterName) {
+        this(game, selectedCharacter, characterName, null);
+    }
+
+    // Continues from a save's world when it has one; otherwise starts the level from the beginning
+    public GameScreen(Main game, int selectedCharacter, String characterName, SaveData save) {
         this.game = game;
         this.batch = game.batch;
         this.selectedCharacter = selectedCharacter;
         this.characterName = characterName;
 
         if (selectedCharacter == 1) {
-            characterTexture = new Texture("character1.png");
-            characterFaceTexture = new Texture("character1face.png");  // Add face texture
+            characterTexture = game.resources.getRegion("character1.png");
+            characterFaceTexture = game.resources.getRegion("character1face.png");  // Add face texture
             characterWidth = 300;
             characterHeight = 150;
         } else if (selectedCharacter == 2) {
-            characterTexture = new Texture("character2.png");
-            characterFaceTexture = new Texture("character2face.png");  // Add face texture
+            characterTexture = game.resources.getRegion("character2.png");
+            characterFaceTexture = game.resources.getRegion("character2face.png");  // Add face texture
             characterWidth = 300;
             characterHeight = 150;
         }
 
-        backgroundTexture = new Texture("gamebackground.png");
-        groundTexture = new Texture("ground.png");
+        backgroundTexture = game.resources.getRegion("gamebackground.png");
+        bulletTexture = game.resources.getRegion("bullet.png");
 
         // Initialize font, heart texture, and shape renderer
         font = new BitmapFont();
-        heartTexture = new Texture("heart.png");  // Add heart texture
+        font.getData().setScale(1.5f);  // Adjusted scale for better size
+        heartTexture = game.resources.getRegion("heart.png");  // Add heart texture
         shapeRenderer = new ShapeRenderer();      // Initialize ShapeRenderer
 
-        characterPosition = new Vector2(100, GROUND_Y + 150);
+        level = TileMap.load(Gdx.files.internal(LEVEL_PATH));
+        levelRenderer = new TileMapRenderer(level, game.resources);
+        characterPosition = new Vector2(level.getSpawnX(), level.getSpawnY());
+
+        game.audio.preloadMusic(MainMenuScreen.MUSIC);  // Ready for when the player quits to the menu
+
+        keyboardInput = new KeyboardInput();
+        // Bullets fly on to the end of the level; the ones off camera are simply not drawn
+        world = new GameWorld(level, keyboardInput, level.getPixelWidth());
+        boolean restored = save != null && save.getWorld() != null;
+        if (restored) {
+            WorldSerializer.read(save.getWorld(), world);
+            player = world.getPlayer();
+            runId = save.getRunId();
+        } else {
+            player = world.createPlayer(level.getSpawnX(), level.getSpawnY(), characterWidth, characterHeight);
+            runId = System.currentTimeMillis();
+        }
+        TextureRegion[] sprites = new TextureRegion[Prefabs.SPRITE_COUNT];
+        sprites[Prefabs.SPRITE_PLAYER] = characterTexture;
+        sprites[Prefabs.SPRITE_BULLET] = bulletTexture;
+        sprites[Prefabs.SPRITE_HEART] = heartTexture;
+        renderSystem = new RenderSystem(sprites);
+        simulationClock = new SimulationClock(TICK_RATE, MAX_STEPS_PER_FRAME);
+        // A replay starts at the level's spawn, so a game continued from a save cannot be recorded
+        recording = restored ? null
+            : new InputRecording(LEVEL_PATH, TICK_RATE, level.getSpawnX(), level.getSpawnY(), characterWidth, characterHeight);
+        world.setRecording(recording);
+        lastAutosaveTick = world.getTick();
+        simulation = Boolean.getBoolean(SIMULATION_THREAD_PROPERTY) ? new SimulationThread(world, TICK_RATE) : null;
 
-        backgroundMusic = Gdx.audio.newMusic(Gdx.files.internal("gamemusic.mp3"));
-        backgroundMusic.setLooping(true);
-        backgroundMusic.setVolume(0.5f);
+        // Load the background texture for the status box
+        statusBackgroundTexture = game.resources.getRegion("statusbackground.png");
+        hudSystem = new HudSystem(font, statusBackgroundTexture, characterFaceTexture, heartTexture, characterName);
 
-        characterController = new CharacterController(100, GROUND_Y + 150, 200, 300, characterHeight);
+        camera = new OrthographicCamera();
+        viewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT, camera);
+        hudViewport = new FitViewport(VIRTUAL_WIDTH, VIRTUAL_HEIGHT);
 
-        // Load the background texture for the status box
-        statusBackgroundTexture = new Texture("statusbackground.png");
+        profiler = new FrameProfiler();
+    }
 
-        SoundManager.playMusic(backgroundMusic);
+    // Queues everything the constructor takes from game.resources, for a LoadingScreen in front of this one
+    static void queueAssets(ResourceCache resources, int selectedCharacter) {
+        if (selectedCharacter == 1 || selectedCharacter == 2) {
+            resources.queueRegion("character" + selectedCharacter + ".png");
+            resources.queueRegion("character" + selectedCharacter + "face.png");
+        }
+        resources.queueRegion("gamebackground.png");
+        resources.queueRegion("bullet.png");
+        resources.queueRegion("heart.png");
+        resources.queueRegion("statusbackground.png");
+        TileMap level = TileMap.load(Gdx.files.internal(LEVEL_PATH));  // A few hundred bytes; parsed again by the screen
+        for (int tile = 1; tile <= level.getTileTypeCount(); tile++) {
+            resources.queueRegion(level.getTileType((byte) tile).image);
+        }
     }
 
     @Override
     public void render(float delta) {
+        profiler.beginFrame();
         Gdx.gl.glClearColor(0, 0, 0, 1);
         Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
-        
-        characterController.update(delta);
-        characterPosition.set(characterController.getPosition());
 
+        profiler.begin(FrameProfiler.UPDATE);
+        keyboardInput.latch();
+        EntityStore entities;
+        int score;
+        int tick;
+        float alpha;
+        if (simulation != null) {
+            // The world ticks on the simulation thread; draw the newest snapshot it has published
+            WorldSnapshot snapshot = simulation.acquire();
+            entities = snapshot.getEntities();
+            score = snapshot.getScore();
+            tick = snapshot.getTick();
+            alpha = simulation.getAlpha(snapshot);
+        } else {
+            int steps = simulationClock.advance(delta);
+            for (int i = 0; i < steps; i++) {
+                world.step(simulationClock.getStep());
+            }
+            entities = world.getEntities();
+            score = world.getScore();
+            tick = world.getTick();
+            alpha = simulationClock.getAlpha();
+        }
+        if (tick - lastAutosaveTick >= AUTOSAVE_TICKS) {
+            autosave(entities, score, tick);
+        }
+        entities.getInterpolatedPosition(player, alpha, characterPosition);
+        updateCamera();
+        profiler.end(FrameProfiler.UPDATE);
+
+        profiler.begin(FrameProfiler.WORLD);
+        screenProjection.set(batch.getProjectionMatrix());
+        viewport.apply();
+        batch.setProjectionMatrix(camera.combined);
         batch.begin();
-        batch.draw(backgroundTexture, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
-        batch.draw(groundTexture, 0, GROUND_Y, Gdx.graphics.getWidth(), GROUND_HEIGHT);
-        batch.draw(characterTexture, characterPosition.x, characterPosition.y, characterWidth, characterHeight);
+        batch.draw(backgroundTexture, view.x, view.y, view.width, view.height);  // Backdrop stays put behind the scrolling level
+        batch.end();
+        profiler.recordBatch(batch);
 
-        for (Bullet bullet : characterController.getBullets()) {
-            batch.draw(bullet.getTexture(), bullet.getPosition().x, bullet.getPosition().y, bullet.getWidth(), bullet.getHeight());
-        }
+        levelRenderer.draw(camera.combined, view.x, view.y, view.width, view.height);
 
-        // Display character status on the top-left corner
-        drawCharacterStatus(batch);
+        batch.begin();
+        renderSystem.draw(entities, batch, alpha, view);  // Pickups, the player and bullets
+        batch.end();
+        profiler.recordBatch(batch);
+        profiler.end(FrameProfiler.WORLD);
 
+        // Display character status on the top-left corner
+        profiler.begin(FrameProfiler.HUD);
+        hudViewport.apply();
+        batch.setProjectionMatrix(hudViewport.getCamera().combined);
+        batch.begin();
+        hudSystem.draw(batch, entities, player, score, VIRTUAL_HEIGHT);
         batch.end();
+        profiler.end(FrameProfiler.HUD);
+        profiler.recordBatch(batch);
 
         // Draw border around the status box
+        profiler.begin(FrameProfiler.BORDER);
         drawStatusBoxBorder();
+        profiler.end(FrameProfiler.BORDER);
 
-        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.ESCAPE)) {
-            pauseGame();
-        }
-    }
+        // Screens drawn over this one (and the profiler overlay) expect the whole window in pixels
+        HdpiUtils.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(screenProjection);
 
-    private void drawCharacterStatus(SpriteBatch batch) {
-        // Adjusted Y positions for the status box to be slightly lower
-        float statusYOffset = 50;  // Lower the status box
-        float statusBoxWidth = 400;
-        float statusBoxHeight = 200;
+        profiler.endFrame();
+        profiler.draw(batch);
 
-        // Draw background block for status
-        batch.draw(statusBackgroundTexture, 10, Gdx.graphics.getHeight() - statusBoxHeight - 60, statusBoxWidth, statusBoxHeight);  // Position and size of background
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F3)) {
+            profiler.toggle();
+        }
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F4)) {
+            profiler.exportCsv(game.persistence);
+        }
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F5)) {
+            saveReplay();
+        }
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F6)) {
+            autosave(entities, score, tick);
+        }
+        if (Gdx.input.isKeyJustPressed(com.badlogic.gdx.Input.Keys.F9)) {
+            quickLoad();
+        }
+    }
 
-        // Draw character face at the top-left corner inside the status block
-        batch.draw(characterFaceTexture, 30, Gdx.graphics.getHeight() - 120 - statusYOffset, 80, 80);  // Adjusted size to 80x80
+    // Only copies the world here; it is serialized and written on the persistence thread
+    private void autosave(EntityStore entities, int score, int tick) {
+        game.autosaves.capture(entities, player, score, tick, selectedCharacter, characterName, runId);
+        lastAutosaveTick = tick;  // A skipped save is not retried every frame
+    }
 
-        // Draw character name
-        font.getData().setScale(1.5f);  // Adjusted scale for better size
-        font.setColor(Color.BLACK);  // Set font color to black
-        font.draw(batch, "Name: " + characterName, 130, Gdx.graphics.getHeight() - 50 - statusYOffset);
+    private void quickLoad() {
+        SaveData save = game.autosaves.loadNewest();
+        if (save == null) {
+            Gdx.app.log("GameScreen", "No autosave to load");
+            return;
+        }
+        queueAssets(game.resources, save.getSelectedCharacter());
+        game.setScreen(new LoadingScreen(game, () -> new GameScreen(game, save.getSelectedCharacter(), save.getCharacterName(), save)));
+    }
 
-        // Draw hearts (lives)
-        for (int i = 0; i < lives; i++) {
-            batch.draw(heartTexture, 130 + i * 30, Gdx.graphics.getHeight() - 120 - statusYOffset, 60, 40);  // Adjust heart size to 60x40
+    // Writes the session so far for core:replay; recording carries on afterwards
+    private void saveReplay() {
+        if (recording == null) {
+            Gdx.app.log("GameScreen", "Replays only cover games started from the beginning of the level");
+            return;
+        }
+        String path = "replays/replay-" + System.currentTimeMillis() + ".cmr";
+        Runnable save = () -> game.persistence.writeAtomic(Gdx.files.local(path), recording.toBytes(),
+            () -> Gdx.app.log("GameScreen", "Saved replay " + path));
+        if (simulation != null) {
+            simulation.runOnSimulation(save);  // The recording is written to between ticks on that thread
+        } else {
+            save.run();
         }
+    }
 
-        // Draw HP
-        font.draw(batch, "HP: " + hp + "/100", 130, Gdx.graphics.getHeight() - 160 - statusYOffset);  // Adjusted Y position
+    // Centres the camera on the player, clamped so it never shows past the edges of the level
+    private void updateCamera() {
+        float halfWidth = camera.viewportWidth * camera.zoom / 2;
+        float halfHeight = camera.viewportHeight * camera.zoom / 2;
+        camera.position.x = MathUtils.clamp(characterPosition.x + characterWidth / 2,
+            halfWidth, Math.max(halfWidth, level.getPixelWidth() - halfWidth));
+        camera.position.y = MathUtils.clamp(characterPosition.y + characterHeight / 2,
+            halfHeight, Math.max(halfHeight, level.getPixelHeight() - halfHeight));
+        camera.update();
+        view.set(camera.position.x - halfWidth, camera.position.y - halfHeight, halfWidth * 2, halfHeight * 2);
     }
 
     private void drawStatusBoxBorder() {
         // Use ShapeRenderer to draw a border around the status box
+        shapeRenderer.setProjectionMatrix(hudViewport.getCamera().combined);
         shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
         shapeRenderer.setColor(Color.BLACK);  // Set border color to black
-        shapeRenderer.rect(10, Gdx.graphics.getHeight() - 237, 400, 205);  // Coordinates and size of the box
+        shapeRenderer.rect(10, VIRTUAL_HEIGHT - 237, 400, 205);  // Coordinates and size of the box
         shapeRenderer.end();
     }
 
     private void pauseGame() {
-        SoundManager.stopMusic(backgroundMusic);
-        game.setScreen(new PauseMenuScreen(game, selectedCharacter, characterName));
+        // Everything the save screen stores, as of the newest tick
+        EntityStore entities;
+        int score;
+        int tick;
+        if (simulation != null) {
+            WorldSnapshot snapshot = simulation.acquire();  // The world itself belongs to the simulation thread
+            entities = snapshot.getEntities();
+            score = snapshot.getScore();
+            tick = snapshot.getTick();
+        } else {
+            entities = world.getEntities();
+            score = world.getScore();
+            tick = world.getTick();
+        }
+        game.setCurrentCharacterPosition(entities.getX(player), entities.getY(player));
+        game.setCurrentScore(score);
+        game.setCurrentWorld(runId, WorldSerializer.write(entities, player, score, tick));
+
+        // The pause menu goes on top of this screen, so the world is kept exactly as it is
+        game.pushScreen(new PauseMenuScreen(game, selectedCharacter, characterName));
     }
 
     @Override
-    public void resize(int width, int height) {}
+    public void resize(int width, int height) {
+        viewport.update(width, height);
+        hudViewport.update(width, height, true);
+    }
 
     @Override
     public void show() {
-        SoundManager.playMusic(backgroundMusic);
+        game.audio.playMusic(MUSIC);
+        setSimulationPaused(false);
+        Gdx.input.setInputProcessor(input);
     }
 
     @Override
     public void hide() {
-        SoundManager.stopMusic(backgroundMusic);
+        game.audio.pauseMusic();  // Resumes from the same point in show()
+        setSimulationPaused(true);  // The world must not run on under the pause menu
+        Gdx.input.setInputProcessor(null);
     }
 
     @Override
     public void pause() {
-        SoundManager.stopMusic(backgroundMusic);
+        game.audio.pauseMusic();
+        setSimulationPaused(true);
     }
 
     @Override
     public void resume() {
-        SoundManager.playMusic(backgroundMusic);
+        game.audio.playMusic(MUSIC);
+        setSimulationPaused(false);
+    }
+
+    // Only needed for the simulation thread; without it the world simply is not stepped while nothing renders
+    private void setSimulationPaused(boolean paused) {
+        if (simulation != null) {
+            simulation.setPaused(paused);
+        }
     }
 
     @Override
     public void dispose() {
-        characterTexture.dispose();
-        backgroundTexture.dispose();
-        groundTexture.dispose();
-        heartTexture.dispose();
-        characterFaceTexture.dispose();
-        statusBackgroundTexture.dispose();  // Dispose status background texture
-        backgroundMusic.dispose();
+        if (simulation != null) {
+            simulation.dispose();
+        }
+        game.resources.release(characterTexture);
+        game.resources.release(backgroundTexture);
+        game.resources.release(bulletTexture);
+        game.resources.release(heartTexture);
+        game.resources.release(characterFaceTexture);
+        game.resources.release(statusBackgroundTexture);  // Release status background texture
         font.dispose();
         shapeRenderer.dispose();  // Dispose ShapeRenderer
+        levelRenderer.dispose();
+        profiler.dispose();
     }
 }
 
@@ -0,0 +1,147 @@
+package com.mygdx.catmario;
+
+// The simulated game state: the entities and the systems that step them. It never touches Gdx.input or
+// Gdx.graphics, so it can tick without a window (headless runs and benchmarks).
+public class GameWorld {
+    public static final int DEFAULT_CAPACITY = 4096; // Entities; the player, pickups and bullets all count
+    private static final float COLLISION_CELL_SIZE = 128; // A little larger than a bullet, so most bullets sit in 1-2 cells
+
+    private final TileMap level;
+    private final InputSource input;
+    private final EntityStore entities;
+    private final SpatialHash colliders;
+    private float width; // World width; bullets past it are retired
+    private int player = -1;
+    private int score;
+    private int tick;    // Steps taken so far
+    private InputRecording recording; // When set, every tick's input and periodic state hashes go in here
+
+    // Systems, in the order step() runs them
+    private final PlayerControlSystem playerControl = new PlayerControlSystem();
+    private final GravitySystem gravity = new GravitySystem();
+    private final MovementSystem movement = new MovementSystem();
+    private final ProjectileSystem projectiles = new ProjectileSystem();
+    private final PickupSystem pickups = new PickupSystem();
+
+    public GameWorld(TileMap level, InputSource input, float width) {
+        this(level, input, width, DEFAULT_CAPACITY);
+    }
+
+    // Spawns the level's pickups; the player comes separately through createPlayer()
+    public GameWorld(TileMap level, InputSource input, float width, int capacity) {
+        this.level = level;
+        this.input = input;
+        this.width = width;
+        this.entities = new EntityStore(capacity);
+        this.colliders = new SpatialHash(COLLISION_CELL_SIZE, capacity);
+        for (int i = 0; i < level.getPickupCount(); i++) {
+            Prefabs.heart(entities, level.getPickupX(i), level.getPickupY(i));
+        }
+    }
+
+    public int createPlayer(float x, float y, float characterWidth, float characterHeight) {
+        player = Prefabs.player(entities, x, y, characterWidth, characterHeight);
+        return player;
+    }
+
+    // Takes over the counters of a loaded snapshot; WorldSerializer.read() has already filled the entities
+    void restore(int player, int score, int tick) {
+        this.player = player;
+        this.score = score;
+        this.tick = tick;
+    }
+
+    // Advances the world by one fixed step
+    public void step(float delta) {
+        int bits = input.poll();
+        if (recording != null) {
+            recording.add(bits);
+        }
+        playerControl.update(entities, bits);
+        gravity.update(entities, delta);
+        movement.update(entities, level, delta);
+        projectiles.update(entities, width);
+        rebuildColliders();
+        score += pickups.update(entities, colliders, player);
+
+        tick++;
+        if (recording != null && tick % InputRecording.CHECKPOINT_TICKS == 0) {
+            recording.addCheckpoint(hashState());
+        }
+    }
+
+    // 64-bit FNV-1a over the simulated state. Two runs that stay in step produce the same sequence of hashes,
+    // so comparing them finds the first tick where a replay diverges from its recording.
+    public long hashState() {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, tick);
+        hash = mix(hash, score);
+        hash = mix(hash, entities.size());
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            hash = mix(hash, entities.mask[i]);
+            hash = mix(hash, Float.floatToIntBits(entities.x[i]));
+            hash = mix(hash, Float.floatToIntBits(entities.y[i]));
+            hash = mix(hash, Float.floatToIntBits(entities.vy[i]));
+            hash = mix(hash, entities.jumps[i]);
+            hash = mix(hash, entities.lives[i]);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, int value) {
+        for (int i = 0; i < 4; i++) {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Level geometry is not in here; it collides through the tile grid instead. Colliders are tagged with entity ids.
+    // Everything moves every tick, so rebuilding from scratch is cheaper than tracking which cells changed
+    private void rebuildColliders() {
+        colliders.clear();
+        for (int i = 0, n = entities.size(); i < n; i++) {
+            if ((entities.mask[i] & EntityStore.TRANSFORM) != 0) {
+                colliders.add(entities.idAt(i), entities.x[i], entities.y[i], entities.width[i], entities.height[i]);
+            }
+        }
+    }
+
+    public TileMap getLevel() {
+        return level;
+    }
+
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    // Entity id of the player, or -1 before createPlayer()
+    public int getPlayer() {
+        return player;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    // Broadphase of the positions after the last step; pickups collected in that step may still be in it
+    public SpatialHash getColliders() {
+        return colliders;
+    }
+
+    public void setRecording(InputRecording recording) {
+        this.recording = recording;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public float getWidth() {
+        return width;
+    }
+
+    public void setWidth(float width) {
+        this.width = width;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mygdx.catmario;
+
+// Accelerates every GRAVITY entity downwards
+public class GravitySystem {
+    private static final int QUERY = EntityStore.GRAVITY | EntityStore.VELOCITY;
+    private static final float GRAVITY = -500; // Gravity acceleration
+
+    public void update(EntityStore store, float delta) {
+        float dv = GRAVITY * delta;
+        for (int i = 0, n = store.size(); i < n; i++) {
+            if ((store.mask[i] & QUERY) == QUERY) {
+                store.vy[i] += dv;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+// The status box in the top-left corner: face, name, the player's lives and HP, and the score.
+// Draws in HUD coordinates; top is the height of the HUD viewport.
+public class HudSystem {
+    private final TextureRegion background;
+    private final TextureRegion face;
+    private final TextureRegion heart;
+    private final HudText nameText;  // Cached layouts, rebuilt only when the value changes
+    private final HudText hpText;
+    private final HudText scoreText;
+
+    // The font should already be scaled for the status box; the textures stay owned by the caller
+    public HudSystem(BitmapFont font, TextureRegion background, TextureRegion face, TextureRegion heart, String name) {
+        this.background = background;
+        this.face = face;
+        this.heart = heart;
+        nameText = new HudText(font, Color.BLACK).set("Name: " + name);
+        hpText = new HudText(font, Color.BLACK);
+        scoreText = new HudText(font, Color.BLACK);
+    }
+
+    public void draw(SpriteBatch batch, EntityStore store, int player, int score, float top) {
+        // Adjusted Y positions for the status box to be slightly lower
+        float statusYOffset = 50;  // Lower the status box
+        float statusBoxWidth = 400;
+        float statusBoxHeight = 200;
+
+        // Draw background block for status
+        batch.draw(background, 10, top - statusBoxHeight - 60, statusBoxWidth, statusBoxHeight);
+
+        // Draw character face at the top-left corner inside the status block
+        batch.draw(face, 30, top - 120 - statusYOffset, 80, 80);
+
+        nameText.draw(batch, 130, top - 50 - statusYOffset);
+
+        int lives = 0;
+        int hp = 0;
+        if (store.isAlive(player) && store.has(player, EntityStore.HEALTH)) {
+            lives = store.getLives(player);
+            hp = store.getHp(player);
+        }
+
+        // Draw hearts (lives)
+        for (int i = 0; i < lives; i++) {
+            batch.draw(heart, 130 + i * 30, top - 120 - statusYOffset, 60, 40);
+        }
+
+        hpText.set("HP: ", hp, "/" + Prefabs.PLAYER_HP).draw(batch, 130, top - 160 - statusYOffset);
+        scoreText.set("Score: ", score, "").draw(batch, 260, top - 160 - statusYOffset);
+    }
+}
@@ -0,0 +1,62 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.StringBuilder;
+
+// A line of HUD text laid out once and redrawn from cached glyph geometry.
+// The layout is only rebuilt when the text actually changes, so drawing an unchanged value allocates nothing.
+// The font's scale is read at layout time, so give each text size its own pre-scaled BitmapFont.
+public class HudText {
+    private final BitmapFontCache cache;
+    private final StringBuilder text = new StringBuilder(32);    // What is currently laid out
+    private final StringBuilder scratch = new StringBuilder(32); // Candidate text, compared against text
+    private float x;
+    private float y;
+
+    public HudText(BitmapFont font, Color color) {
+        this.cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        this.cache.setColor(color);
+    }
+
+    public HudText set(CharSequence value) {
+        if (!contentEquals(text, value)) {
+            text.setLength(0);
+            text.append(value);
+            cache.setText(text, 0, 0);
+            cache.setPosition(x, y);
+        }
+        return this;
+    }
+
+    // prefix + value + suffix, formatted without creating a String
+    public HudText set(String prefix, int value, String suffix) {
+        scratch.setLength(0);
+        scratch.append(prefix).append(value).append(suffix);
+        return set(scratch);
+    }
+
+    public void draw(Batch batch, float drawX, float drawY) {
+        if (drawX != x || drawY != y) {
+            x = drawX;
+            y = drawY;
+            cache.setPosition(x, y);
+        }
+        cache.draw(batch);
+    }
+
+    private static boolean contentEquals(StringBuilder current, CharSequence value) {
+        int length = value.length();
+        if (current.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (current.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
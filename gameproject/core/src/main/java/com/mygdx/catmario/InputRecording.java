@@ -0,0 +1,196 @@
+package com.mygdx.catmario;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.badlogic.gdx.utils.ByteArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongArray;
+
+// The input of one play session, one InputSource bit set per simulation tick, plus what is needed to start
+// the same world again. Replaying it through a GameWorld at the same tick rate reproduces the session exactly.
+//
+// File layout (big-endian):
+//   header      - magic, version, level path, tick rate, player start and size
+//   ticks       - number of ticks recorded
+//   runs        - byte count, then (input bits, varint run length) pairs; held keys make long runs
+//   checkpoints - count, then GameWorld.hashState() after every CHECKPOINT_TICKS ticks
+public class InputRecording {
+    public static final int CHECKPOINT_TICKS = 60;
+
+    private static final int MAGIC = 0x434D5250; // "CMRP"
+    private static final int VERSION = 3; // 2: state hashes cover every entity, 3: retired bullets keep slot order
+
+    private final String levelPath;
+    private final float tickRate;
+    private final float startX;
+    private final float startY;
+    private final float characterWidth;
+    private final float characterHeight;
+
+    private final ByteArray runs = new ByteArray();
+    private final LongArray checkpoints = new LongArray();
+    private int tickCount;
+    private int runBits = -1;  // Bits of the run still being recorded, -1 before the first tick
+    private int runLength;
+
+    public InputRecording(String levelPath, float tickRate, float startX, float startY,
+                          float characterWidth, float characterHeight) {
+        this.levelPath = levelPath;
+        this.tickRate = tickRate;
+        this.startX = startX;
+        this.startY = startY;
+        this.characterWidth = characterWidth;
+        this.characterHeight = characterHeight;
+    }
+
+    // Records the input of the next tick
+    public void add(int bits) {
+        if (bits != runBits) {
+            flushRun();
+            runBits = bits;
+        }
+        runLength++;
+        tickCount++;
+    }
+
+    public void addCheckpoint(long stateHash) {
+        checkpoints.add(stateHash);
+    }
+
+    // Plays the recorded ticks back in order; once they run out it reports no input
+    public InputSource playback() {
+        flushRun();
+        return new InputSource() {
+            private int position;
+            private int remaining;
+            private int bits;
+
+            @Override
+            public int poll() {
+                if (remaining == 0) {
+                    if (position >= runs.size) {
+                        return 0;
+                    }
+                    bits = runs.get(position++);
+                    int length = 0;
+                    for (int shift = 0; ; shift += 7) {
+                        byte b = runs.get(position++);
+                        length |= (b & 0x7F) << shift;
+                        if (b >= 0) {
+                            break;
+                        }
+                    }
+                    remaining = length;
+                }
+                remaining--;
+                return bits;
+            }
+        };
+    }
+
+    private void flushRun() {
+        if (runLength == 0) {
+            return;
+        }
+        runs.add((byte) runBits);
+        int length = runLength;
+        while (length >= 0x80) {
+            runs.add((byte) (length | 0x80));
+            length >>>= 7;
+        }
+        runs.add((byte) length);
+        runLength = 0;
+    }
+
+    public byte[] toBytes() {
+        flushRun();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + runs.size + checkpoints.size * 8);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(levelPath);
+            out.writeFloat(tickRate);
+            out.writeFloat(startX);
+            out.writeFloat(startY);
+            out.writeFloat(characterWidth);
+            out.writeFloat(characterHeight);
+            out.writeInt(tickCount);
+            out.writeInt(runs.size);
+            out.write(runs.items, 0, runs.size);
+            out.writeInt(checkpoints.size);
+            for (int i = 0; i < checkpoints.size; i++) {
+                out.writeLong(checkpoints.get(i));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not encode input recording", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static InputRecording fromBytes(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            if (in.readInt() != MAGIC) {
+                throw new GdxRuntimeException("Not an input recording");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new GdxRuntimeException("Unsupported input recording version " + version);
+            }
+            InputRecording recording = new InputRecording(in.readUTF(), in.readFloat(),
+                in.readFloat(), in.readFloat(), in.readFloat(), in.readFloat());
+            recording.tickCount = in.readInt();
+            int runBytes = in.readInt();
+            recording.runs.ensureCapacity(runBytes);
+            in.readFully(recording.runs.items, 0, runBytes);
+            recording.runs.size = runBytes;
+            int checkpointCount = in.readInt();
+            for (int i = 0; i < checkpointCount; i++) {
+                recording.checkpoints.add(in.readLong());
+            }
+            return recording;
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Corrupt input recording", e);
+        }
+    }
+
+    public String getLevelPath() {
+        return levelPath;
+    }
+
+    public float getTickRate() {
+        return tickRate;
+    }
+
+    public float getStartX() {
+        return startX;
+    }
+
+    public float getStartY() {
+        return startY;
+    }
+
+    public float getCharacterWidth() {
+        return characterWidth;
+    }
+
+    public float getCharacterHeight() {
+        return characterHeight;
+    }
+
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    public int getCheckpointCount() {
+        return checkpoints.size;
+    }
+
+    // Hash recorded after (index + 1) * CHECKPOINT_TICKS ticks
+    public long getCheckpoint(int index) {
+        return checkpoints.get(index);
+    }
+}
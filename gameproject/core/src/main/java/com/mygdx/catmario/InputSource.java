@@ -0,0 +1,13 @@
+package com.mygdx.catmario;
+
+// Supplies the player's actions for each simulation tick as a bit set,
+// so the simulation never reads Gdx.input directly
+public interface InputSource {
+    int LEFT = 1;       // Held
+    int RIGHT = 1 << 1; // Held
+    int JUMP = 1 << 2;  // Pressed since the previous tick
+    int FIRE = 1 << 3;  // Pressed since the previous tick
+
+    // Called once per tick
+    int poll();
+}
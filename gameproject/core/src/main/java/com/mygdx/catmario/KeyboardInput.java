@@ -0,0 +1,41 @@
+package com.mygdx.catmario;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+// Player actions from the keyboard. The keys are read in latch() on the render thread;
+// poll() only reads what was latched, so the simulation may tick on another thread.
+public class KeyboardInput implements InputSource {
+    private final AtomicInteger pressed = new AtomicInteger(); // Key presses seen since the last tick
+    private volatile int held;                                 // Keys held down at the last latch
+
+    // Call once per rendered frame, so presses are not lost or repeated when a frame runs zero or several ticks
+    public void latch() {
+        int presses = 0;
+        if (Gdx.input.isKeyJustPressed(Input.Keys.SPACE)) {
+            presses |= JUMP;
+        }
+        if (Gdx.input.isKeyJustPressed(Input.Keys.A)) {
+            presses |= FIRE;
+        }
+        if (presses != 0) {
+            pressed.getAndAccumulate(presses, (a, b) -> a | b);
+        }
+
+        int keys = 0;
+        if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            keys |= LEFT;
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            keys |= RIGHT;
+        }
+        held = keys;
+    }
+
+    @Override
+    public int poll() {
+        return pressed.getAndSet(0) | held;
+    }
+}
@@ -1,31 +1,33 @@
 package com.mygdx.catmario;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Sound;
-import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
-public class LoadGameScreen implements Screen {
+public class LoadGameScreen implements Screen, MenuInput.Listener {
 
     private final SpriteBatch batch;
-    private final Texture backgroundTexture;
-    private final Texture chooseButton;
-    private final Texture backButton;
+    private final TextureRegion backgroundTexture;
+    private final TextureRegion chooseButton;
+    private final TextureRegion backButton;
+    private final TextureRegion highlightTexture;
     private final Sound hoverSound;
     private final Sound clickSound;
     private final BitmapFont font;
     
-    private List<String> saveSlots;
-    private final List<Rectangle> saveSlotBounds;
+    // Only the visible slots are laid out; the rest are read from the save index as the list scrolls
+    private final SaveListView saveList;
+    private final InputAdapter listInput;  // Wheel scrolling, and hover/click on the rows
+    private static final float KEY_SCROLL_SPEED = 1200;  // Pixels per second while an arrow key is held
+    private static final float WHEEL_SCROLL_STEP = 100;  // Pixels per mouse wheel notch
     
     private final Rectangle chooseBounds;
     private final Rectangle backBounds;
@@ -33,22 +35,28 @@ public class LoadGameScreen implements Screen {
     
     private int selectedSaveIndex = -1; // Default: no save selected
     
-    // เพิ่มการประกาศตัวแปร hover status
-    private boolean isHoveringChoose = false;
-    private boolean isHoveringBack = false;
+    // Buttons go through MenuInput; the rows move while scrolling, so the list hit-tests them itself
+    private final MenuInput menuInput;
+    private final InputMultiplexer input;
+    private final int chooseWidget;
+    private final int backWidget;
     private int hoverSaveSlotIndex = -1; // เก็บสถานะ hover สำหรับ slot save
+    private int pointerX;
+    private int pointerY;
 
     public LoadGameScreen(Main game) {
         this.game = game;
         this.batch = game.batch;
 
-        backgroundTexture = new Texture("loadbackground.png");
-        hoverSound = Gdx.audio.newSound(Gdx.files.internal("hover.wav"));
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("click.wav"));
+        backgroundTexture = game.resources.getRegion("loadbackground.png");
+        hoverSound = game.resources.getSound("hover.wav");
+        clickSound = game.resources.getSound("click.wav");
         font = new BitmapFont();
+        font.getData().setScale(2.5f);  // Scaled once; slot text layouts are cached at this size
 
-        chooseButton = new Texture("choose.png");
-        backButton = new Texture("back.png");
+        chooseButton = game.resources.getRegion("choose.png");
+        backButton = game.resources.getRegion("back.png");
+        highlightTexture = game.resources.getRegion("highlight.png");
 
         float buttonWidth = 350;
         float buttonHeight = 350;
@@ -58,31 +66,45 @@ public class LoadGameScreen implements Screen {
         chooseBounds = new Rectangle((Gdx.graphics.getWidth() / 2f) - buttonWidth - spacing / 2f, buttonY, buttonWidth, buttonHeight);
         backBounds = new Rectangle((Gdx.graphics.getWidth() / 2f) + spacing / 2f, buttonY, buttonWidth, buttonHeight);
 
-        // Load saved game data from Preferences
-        loadSavedGameData();
+        // The save list fills the space between the top of the screen and the buttons
+        float listTop = Gdx.graphics.getHeight() - 20;
+        float listBottom = chooseBounds.y + chooseBounds.height + 20;
+        Rectangle listArea = new Rectangle(100, listBottom, Gdx.graphics.getWidth() - 200, Math.max(0, listTop - listBottom));
+        saveList = new SaveListView(game.saves, font, listArea);
+
+        listInput = new InputAdapter() {
+            @Override
+            public boolean scrolled(float amountX, float amountY) {
+                saveList.scrollBy(amountY * WHEEL_SCROLL_STEP);
+                return true;
+            }
 
-        saveSlotBounds = new ArrayList<>();
-        for (int i = 0; i < saveSlots.size(); i++) {
-            float y = Gdx.graphics.getHeight() - 100 - i * 100;
-            saveSlotBounds.add(new Rectangle(100, y, Gdx.graphics.getWidth() - 200, 80));
-        }
-    }
+            @Override
+            public boolean mouseMoved(int screenX, int screenY) {
+                pointerX = screenX;
+                pointerY = screenY;
+                updateSlotHover(true);
+                return false;
+            }
 
-    private void loadSavedGameData() {
-        Preferences prefs = Gdx.app.getPreferences("SaveGame");
-        String allSaves = prefs.getString("allSaves", "");
-        saveSlots = new ArrayList<>();
-
-        if (!allSaves.isEmpty()) {
-            String[] saveIDs = allSaves.split(";");
-            for (String saveID : saveIDs) {
-                if (!saveID.isEmpty()) {
-                    String characterName = prefs.getString("characterName_" + saveID, "Unknown");
-                    String saveTime = prefs.getString("saveTime_" + saveID, "Unknown");
-                    saveSlots.add("Character: " + characterName + " | Time: " + saveTime);
+            @Override
+            public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+                pointerX = screenX;
+                pointerY = screenY;
+                updateSlotHover(true);
+                if (hoverSaveSlotIndex == -1) {
+                    return false;
                 }
+                selectedSaveIndex = hoverSaveSlotIndex;
+                game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+                return true;
             }
-        }
+        };
+
+        menuInput = new MenuInput(this);
+        chooseWidget = menuInput.add(chooseBounds);
+        backWidget = menuInput.add(backBounds);
+        input = new InputMultiplexer(menuInput, listInput);
     }
 
     @Override
@@ -97,94 +119,59 @@ public class LoadGameScreen implements Screen {
         batch.draw(chooseButton, chooseBounds.x, chooseBounds.y, chooseBounds.width, chooseBounds.height);
         batch.draw(backButton, backBounds.x, backBounds.y, backBounds.width, backBounds.height);
 
-        // Draw save slots and highlight after the text
-        for (int i = 0; i < saveSlots.size(); i++) {
-            Rectangle bounds = saveSlotBounds.get(i);
-
-            // Draw highlight if selected
-            if (i == selectedSaveIndex) {
-                batch.setColor(Color.YELLOW);  // Highlight selected save
-                batch.draw(new Texture("highlight.png"), bounds.x - 5, bounds.y - 5, bounds.width + 10, bounds.height + 10);
-                batch.setColor(Color.WHITE);
-            }
-
-            // Draw save slot text
-            font.setColor(Color.BLACK);
-            font.getData().setScale(2.5f);
-            font.draw(batch, saveSlots.get(i), bounds.x + 20, bounds.y + bounds.height - 20);
+        // Draw the visible save slots, with the highlight under the selected one
+        if (Gdx.input.isKeyPressed(Input.Keys.UP)) {
+            saveList.scrollBy(-KEY_SCROLL_SPEED * delta);
+        }
+        if (Gdx.input.isKeyPressed(Input.Keys.DOWN)) {
+            saveList.scrollBy(KEY_SCROLL_SPEED * delta);
+        }
+        if (saveList.update(delta)) {
+            updateSlotHover(false);  // Rows moved under a still pointer; sound only for real pointer moves
         }
+        saveList.draw(batch, highlightTexture, selectedSaveIndex);
 
         batch.end();
-
-        handleHoverAndInput();
     }
 
-    private void handleHoverAndInput() {
-        float touchX = Gdx.input.getX();
-        float touchY = Gdx.graphics.getHeight() - Gdx.input.getY();
-
-        // Handle hover and click for save slots
-        boolean hoverFound = false;
-        for (int i = 0; i < saveSlotBounds.size(); i++) {
-            Rectangle bounds = saveSlotBounds.get(i);
-            if (bounds.contains(touchX, touchY)) {
-                hoverFound = true;
-                if (hoverSaveSlotIndex != i) {
-                    SoundManager.playSound(hoverSound); // Play hover sound when first hover
-                    hoverSaveSlotIndex = i;
-                }
-                if (Gdx.input.justTouched()) {
-                    selectedSaveIndex = i;
-                    SoundManager.playSound(clickSound);
-                }
-            }
-        }
-        if (!hoverFound) {
-            hoverSaveSlotIndex = -1; // Reset hover state if no slot is hovered
+    private void updateSlotHover(boolean playSound) {
+        int hoveredSlot = saveList.slotAt(pointerX, Gdx.graphics.getHeight() - pointerY);
+        if (hoveredSlot != -1 && hoveredSlot != hoverSaveSlotIndex && playSound) {
+            game.audio.playSound(hoverSound, AudioManager.PRIORITY_HOVER); // Play hover sound when first hover
         }
+        hoverSaveSlotIndex = hoveredSlot; // -1 resets the hover state when no slot is hovered
+    }
 
-        // Handle hover and click for choose button
-        if (chooseBounds.contains(touchX, touchY)) {
-            if (!isHoveringChoose) {
-                SoundManager.playSound(hoverSound);
-                isHoveringChoose = true;
-            }
-            if (Gdx.input.justTouched() && selectedSaveIndex != -1) {
-                SoundManager.playSound(clickSound);
-                loadGame(selectedSaveIndex);  // Load selected save
-            }
-        } else {
-            isHoveringChoose = false;
+    @Override
+    public void hovered(int widget) {
+        if (widget != -1) {
+            game.audio.playSound(hoverSound, AudioManager.PRIORITY_HOVER);
         }
+    }
 
-        // Handle hover and click for back button
-        if (backBounds.contains(touchX, touchY)) {
-            if (!isHoveringBack) {
-                SoundManager.playSound(hoverSound);
-                isHoveringBack = true;
-            }
-            if (Gdx.input.justTouched()) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new MainMenuScreen(game));  // Go back to main menu
-            }
-        } else {
-            isHoveringBack = false;
+    @Override
+    public void clicked(int widget) {
+        if (widget == chooseWidget && selectedSaveIndex != -1) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            loadGame(selectedSaveIndex);  // Load selected save
+        } else if (widget == backWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.showScreen(MainMenuScreen.class, () -> new MainMenuScreen(game));  // Go back to main menu
         }
     }
 
     private void loadGame(int index) {
-        Preferences prefs = Gdx.app.getPreferences("SaveGame");
-        String saveID = prefs.getString("allSaves", "").split(";")[index];
-        
-        int selectedCharacter = prefs.getInteger("selectedCharacter_" + saveID, 1);
-        float characterPositionX = prefs.getFloat("characterPositionX_" + saveID, 100);
-        float characterPositionY = prefs.getFloat("characterPositionY_" + saveID, 150);
-        
-        game.setCurrentCharacter(selectedCharacter);
-        game.setCurrentCharacterPosition(characterPositionX, characterPositionY);
-        
-        // Load the game
-        game.setScreen(new GameScreen(game, selectedCharacter, prefs.getString("characterName_" + saveID)));
+        SaveData save = game.saves.load(index);
+        if (save == null) {
+            return; // Damaged save, stay on this screen
+        }
+
+        game.setCurrentCharacter(save.getSelectedCharacter());
+        game.setCurrentCharacterPosition(save.getCharacterX(), save.getCharacterY());
+
+        // Load the game once its assets have streamed in
+        GameScreen.queueAssets(game.resources, save.getSelectedCharacter());
+        game.setScreen(new LoadingScreen(game, () -> new GameScreen(game, save.getSelectedCharacter(), save.getCharacterName(), save)));
     }
 
     @Override
@@ -197,18 +184,30 @@ public class LoadGameScreen implements Screen {
     public void resume() {}
 
     @Override
-    public void hide() {}
+    public void hide() {
+        Gdx.input.setInputProcessor(null);
+    }
 
     @Override
-    public void show() {}
+    public void show() {
+        // Shown again from the warm screen cache: start over with the current list of saves
+        selectedSaveIndex = -1;
+        hoverSaveSlotIndex = -1;
+        saveList.refresh();
+        menuInput.reset();
+        pointerX = Gdx.input.getX();
+        pointerY = Gdx.input.getY();
+        Gdx.input.setInputProcessor(input);
+    }
 
     @Override
     public void dispose() {
-        backgroundTexture.dispose();
-        chooseButton.dispose();
-        backButton.dispose();
-        hoverSound.dispose();
-        clickSound.dispose();
+        game.resources.release(backgroundTexture);
+        game.resources.release(chooseButton);
+        game.resources.release(backButton);
+        game.resources.release(highlightTexture);
+        game.resources.release(hoverSound);
+        game.resources.release(clickSound);
         font.dispose();
     }
 }
@@ -0,0 +1,74 @@
+package com.mygdx.catmario;
+
+import java.util.function.Supplier;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+
+// Shown while the next screen's assets stream in, so switching to a heavy screen never freezes the window.
+// Whoever switches here first queues the next screen's assets on game.resources (see GameScreen.queueAssets).
+// Each frame spends at most UPLOAD_BUDGET_MILLIS uploading what the loader thread has decoded and draws a progress
+// bar; once everything is resident the next screen is built, and its constructor finds its assets already loaded.
+public class LoadingScreen implements Screen {
+    private static final int UPLOAD_BUDGET_MILLIS = 8; // Half a 60 Hz frame, leaving the rest for drawing
+    private static final float BAR_WIDTH = 600;
+    private static final float BAR_HEIGHT = 30;
+
+    private final Main game;
+    private final Supplier<Screen> next;
+    private final ShapeRenderer shapeRenderer;
+
+    public LoadingScreen(Main game, Supplier<Screen> next) {
+        this.game = game;
+        this.next = next;
+        shapeRenderer = new ShapeRenderer();
+    }
+
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(null);  // Nothing to click while loading
+    }
+
+    @Override
+    public void render(float delta) {
+        Gdx.gl.glClearColor(0, 0, 0, 1);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+        boolean loaded = game.resources.update(UPLOAD_BUDGET_MILLIS);
+
+        float x = (Gdx.graphics.getWidth() - BAR_WIDTH) / 2;
+        float y = (Gdx.graphics.getHeight() - BAR_HEIGHT) / 2;
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        shapeRenderer.setColor(1, 1, 1, 1);
+        shapeRenderer.rect(x, y, BAR_WIDTH * game.resources.getProgress(), BAR_HEIGHT);
+        shapeRenderer.end();
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
+        shapeRenderer.rect(x, y, BAR_WIDTH, BAR_HEIGHT);
+        shapeRenderer.end();
+
+        if (loaded) {
+            game.setScreen(next.get());  // This screen is disposed once the frame is finished
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        shapeRenderer.getProjectionMatrix().setToOrtho2D(0, 0, width, height);
+    }
+
+    @Override
+    public void pause() {}
+
+    @Override
+    public void resume() {}
+
+    @Override
+    public void hide() {}
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+    }
+}
@@ -1,32 +1,216 @@
 package com.mygdx.catmario;
 
+import java.util.function.Supplier;
+
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Graphics.DisplayMode;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
 
 //TODO: No idea
 public class Main extends Game {
+    // Unused textures stay cached until their estimated size passes this budget
+    private static final long TEXTURE_BUDGET_BYTES = 128L * 1024 * 1024;
+    private static final int AUTOSAVE_SLOTS = 5;
+    private static final int WARM_SCREENS = 3;        // Menus kept alive for showScreen; one more than there are today
+    private static final float FADE_SECONDS = 0.3f;
+    private static final float MAX_FADE_STEP = 1 / 30f; // A long first frame on the new screen must not skip the fade
+
     public SpriteBatch batch;
+    public ResourceCache resources;  // Textures and sounds shared by all screens
+    public SaveStore saves;  // Saved games
+    public PersistenceExecutor persistence;  // Background disk writes
+    public AudioManager audio;  // Sound settings, effect voices and music
+    public AutosaveRing autosaves;  // Autosaves and quicksaves, oldest overwritten first
+
+    // Screens suspended under the current one (e.g. the game under the pause menu)
+    private final Array<Screen> screenStack = new Array<>();
+    // Screens that were closed this frame; disposed once the frame is finished
+    private final Array<Screen> closedScreens = new Array<>();
+    // Hidden screens kept alive for showScreen, least recently shown first
+    private final Array<Screen> warmScreens = new Array<>();
+    // Leaving a screen of one of these types keeps it warm instead of closing it; registered in create()
+    private final ObjectSet<Class<?>> warmTypes = new ObjectSet<>();
+
+    // showScreen() waits for the start of the next frame, when the outgoing screen can be drawn into the fade buffer
+    private Class<? extends Screen> pendingType;
+    private Supplier<? extends Screen> pendingFactory;
+    private FrameBuffer fadeBuffer;  // The last frame of the outgoing screen, faded out over the incoming one
+    private final TextureRegion fadeRegion = new TextureRegion();
+    private final Matrix4 fadeProjection = new Matrix4();
+    private final Matrix4 savedProjection = new Matrix4();
+    private float fadeTime = FADE_SECONDS;
+
     private int currentCharacter = 1;  // Default character
     private float currentCharacterX = 100;
     private float currentCharacterY = 150;
     private int currentScore = 0;
+    private long currentRunId;    // Play-through of the game under the pause menu
+    private byte[] currentWorld;  // Its world as WorldSerializer wrote it when the game was paused
 
     @Override
     public void create() {
         batch = new SpriteBatch();
+        saves = new SaveStore(Gdx.files.local("saves"));
+        persistence = new PersistenceExecutor();
+        audio = new AudioManager(persistence);
+        autosaves = new AutosaveRing(Gdx.files.local("saves"), AUTOSAVE_SLOTS, persistence);
 
         // Set full screen mode
         DisplayMode displayMode = Gdx.graphics.getDisplayMode();
         Gdx.graphics.setFullscreenMode(displayMode);  // Set the game to full screen
+        resources = new ResourceCache(TEXTURE_BUDGET_BYTES, displayMode.height);  // Art sized for the display
+
+        // Menus are kept warm between visits, including the first main menu (built by the loading screen)
+        warmTypes.add(MainMenuScreen.class);
+        warmTypes.add(CharacterSelectScreen.class);
+        warmTypes.add(LoadGameScreen.class);
 
-        setScreen(new MainMenuScreen(this));  // Initializes Main Menu
+        // The first screen also waits for the atlas, so show progress instead of a frozen window
+        MainMenuScreen.queueAssets(resources);
+        setScreen(new LoadingScreen(this, () -> new MainMenuScreen(this)));  // Initializes Main Menu
     }
 
     @Override
     public void render() {
+        if (pendingType != null) {
+            switchScreen();
+        }
         super.render();  // Renders the current screen
+        if (fadeTime < FADE_SECONDS) {
+            drawFade();
+        }
+        audio.update(Gdx.graphics.getDeltaTime());
+
+        // The closing screen may still be inside its own render() when it switches screens,
+        // so it is only disposed here
+        disposeClosedScreens();
+    }
+
+    @Override
+    public void pause() {
+        super.pause();
+        audio.suspend();
+    }
+
+    // Replaces the current screen and closes every suspended screen under it.
+    // A screen of a warm type (see create()) is kept warm instead, for the next time it is shown.
+    @Override
+    public void setScreen(Screen screen) {
+        if (this.screen != null) {
+            if (warmTypes.contains(this.screen.getClass())) {
+                keepWarm(this.screen);
+            } else {
+                closedScreens.add(this.screen);
+            }
+        }
+        closedScreens.addAll(screenStack);
+        screenStack.clear();
+        super.setScreen(screen);
+    }
+
+    // Switches to a screen of the given type with a crossfade, reusing a warm one if there is one and building
+    // one with factory otherwise. Warm types must reset their per-visit state in show().
+    // The switch happens at the start of the next frame.
+    public <T extends Screen> void showScreen(Class<T> type, Supplier<T> factory) {
+        pendingType = type;
+        pendingFactory = factory;
+    }
+
+    private void switchScreen() {
+        Class<? extends Screen> type = pendingType;
+        Supplier<? extends Screen> factory = pendingFactory;
+        pendingType = null;
+        pendingFactory = null;
+
+        if (this.screen != null) {
+            captureFade();
+        }
+        Screen incoming = null;
+        for (int i = 0; i < warmScreens.size; i++) {
+            if (warmScreens.get(i).getClass() == type) {
+                incoming = warmScreens.removeIndex(i);
+                break;
+            }
+        }
+        if (incoming == null) {
+            incoming = factory.get();
+        }
+        setScreen(incoming);
+    }
+
+    private void keepWarm(Screen screen) {
+        warmScreens.add(screen);
+        if (warmScreens.size > WARM_SCREENS) {
+            closedScreens.add(warmScreens.removeIndex(0));  // Least recently shown
+        }
+    }
+
+    // Draws the outgoing screen once more, into the fade buffer instead of the window
+    private void captureFade() {
+        int width = Gdx.graphics.getBackBufferWidth();
+        int height = Gdx.graphics.getBackBufferHeight();
+        if (fadeBuffer == null || fadeBuffer.getWidth() != width || fadeBuffer.getHeight() != height) {
+            if (fadeBuffer != null) {
+                fadeBuffer.dispose();
+            }
+            fadeBuffer = new FrameBuffer(Pixmap.Format.RGBA8888, width, height, false);
+            fadeRegion.setRegion(fadeBuffer.getColorBufferTexture());
+            fadeRegion.flip(false, true);  // Frame buffer textures are upside down
+        }
+        fadeBuffer.begin();
+        this.screen.render(0);  // No time passes, so the outgoing screen does not move on
+        fadeBuffer.end();
+        fadeTime = 0;
+    }
+
+    // The outgoing screen's last frame over the incoming screen, more transparent each frame
+    private void drawFade() {
+        fadeTime += Math.min(Gdx.graphics.getDeltaTime(), MAX_FADE_STEP);
+        float alpha = 1 - Math.min(1, fadeTime / FADE_SECONDS);
+
+        HdpiUtils.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        savedProjection.set(batch.getProjectionMatrix());
+        fadeProjection.setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setProjectionMatrix(fadeProjection);
+        batch.begin();
+        batch.setColor(1, 1, 1, alpha);
+        batch.draw(fadeRegion, 0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+        batch.setColor(1, 1, 1, 1);
+        batch.end();
+        batch.setProjectionMatrix(savedProjection);
+    }
+
+    // Shows an overlay screen on top of the current one, which is hidden but kept alive
+    public void pushScreen(Screen overlay) {
+        if (this.screen != null) {
+            screenStack.add(this.screen);
+        }
+        super.setScreen(overlay);
+    }
+
+    // Closes the current overlay and returns to the screen underneath with its state intact
+    public void popScreen() {
+        if (screenStack.isEmpty()) {
+            return;
+        }
+        closedScreens.add(this.screen);
+        super.setScreen(screenStack.pop());
+    }
+
+    private void disposeClosedScreens() {
+        for (Screen closed : closedScreens) {
+            closed.dispose();
+        }
+        closedScreens.clear();
     }
 
     @Override
@@ -35,6 +219,19 @@ public class Main extends Game {
         if (getScreen() != null) {
             getScreen().dispose();
         }
+        for (Screen suspended : screenStack) {
+            suspended.dispose();
+        }
+        screenStack.clear();
+        closedScreens.addAll(warmScreens);
+        warmScreens.clear();
+        disposeClosedScreens();
+        if (fadeBuffer != null) {
+            fadeBuffer.dispose();
+        }
+        audio.dispose();
+        persistence.dispose();  // Waits for queued saves and settings to reach the disk
+        resources.dispose();
     }
 
     // Getters and setters for game state
@@ -66,6 +263,19 @@ public class Main extends Game {
     public void setCurrentScore(int currentScore) {
         this.currentScore = currentScore;
     }
+
+    public long getCurrentRunId() {
+        return currentRunId;
+    }
+
+    public byte[] getCurrentWorld() {
+        return currentWorld;
+    }
+
+    public void setCurrentWorld(long runId, byte[] world) {
+        this.currentRunId = runId;
+        this.currentWorld = world;
+    }
 }
 
 
@@ -1,40 +1,42 @@
 package com.mygdx.catmario;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.InputProcessor;
 import com.badlogic.gdx.Screen;
-import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
-public class MainMenuScreen implements Screen, InputProcessor {
+public class MainMenuScreen implements Screen, MenuInput.Listener {
+    static final String MUSIC = "menumusic.mp3";
 
     private final Main game;
     private final SpriteBatch batch;
-    private final Texture backgroundTexture;
-    private final Texture newGameButton;
-    private final Texture loadGameButton;
-    private final Texture exitButton;
-    private final Texture logo;
+    private final TextureRegion backgroundTexture;
+    private final TextureRegion newGameButton;
+    private final TextureRegion loadGameButton;
+    private final TextureRegion exitButton;
+    private final TextureRegion logo;
     private final Rectangle newGameBounds;
     private final Rectangle loadGameBounds;
     private final Rectangle exitBounds;
-    private final Music menuMusic;
     private final Sound hoverSound;
     private final Sound clickSound;
 
-    private boolean isHoveringNewGame = false;
-    private boolean isHoveringLoadGame = false;
-    private boolean isHoveringExit = false;
+    // Clicks and hovers arrive as events; the ids are what MenuInput reports
+    private final MenuInput menuInput;
+    private final int newGameWidget;
+    private final int loadGameWidget;
+    private final int exitWidget;
+    private final int soundWidget;
+    private final int soundEffectWidget;
 
     // Add sound icons
-    private final Texture soundOnIcon;
-    private final Texture soundOffIcon;
-    private final Texture soundEffectOnIcon;
-    private final Texture soundEffectOffIcon;
+    private final TextureRegion soundOnIcon;
+    private final TextureRegion soundOffIcon;
+    private final TextureRegion soundEffectOnIcon;
+    private final TextureRegion soundEffectOffIcon;
     private final Rectangle soundIconBounds;
     private final Rectangle soundEffectIconBounds;
 
@@ -48,18 +50,16 @@ public class MainMenuScreen implements Screen, InputProcessor {
         this.game = game;
         this.batch = game.batch;
 
-        backgroundTexture = new Texture("menubackground.png");
-        newGameButton = new Texture("newgame.png");
-        loadGameButton = new Texture("loadgame.png");
-        exitButton = new Texture("exit.png");
-        logo = new Texture("logo.png");
+        backgroundTexture = game.resources.getRegion("menubackground.png");
+        newGameButton = game.resources.getRegion("newgame.png");
+        loadGameButton = game.resources.getRegion("loadgame.png");
+        exitButton = game.resources.getRegion("exit.png");
+        logo = game.resources.getRegion("logo.png");
 
-        menuMusic = Gdx.audio.newMusic(Gdx.files.internal("menumusic.mp3"));
-        menuMusic.setLooping(true);
-        menuMusic.setVolume(0.5f);
+        game.audio.preloadMusic(GameScreen.MUSIC);  // Opened in the background while the menu is up
 
-        hoverSound = Gdx.audio.newSound(Gdx.files.internal("hover.wav"));
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("click.wav"));
+        hoverSound = game.resources.getSound("hover.wav");
+        clickSound = game.resources.getSound("click.wav");
 
         int buttonWidth = 260;
         int buttonHeight = 150;
@@ -75,19 +75,38 @@ public class MainMenuScreen implements Screen, InputProcessor {
         loadGameBounds = new Rectangle(startX + buttonWidth + spacing, buttonY, buttonWidth, buttonHeight);
         exitBounds = new Rectangle(startX + 2 * (buttonWidth + spacing), buttonY, buttonWidth, buttonHeight);
 
-        soundOnIcon = new Texture("soundon.png");
-        soundOffIcon = new Texture("soundoff.png");
-        soundEffectOnIcon = new Texture("soundeffecton.png");
-        soundEffectOffIcon = new Texture("soundeffectoff.png");
+        soundOnIcon = game.resources.getRegion("soundon.png");
+        soundOffIcon = game.resources.getRegion("soundoff.png");
+        soundEffectOnIcon = game.resources.getRegion("soundeffecton.png");
+        soundEffectOffIcon = game.resources.getRegion("soundeffectoff.png");
 
         soundIconBounds = new Rectangle(screenWidth - iconSize - 20, Gdx.graphics.getHeight() - iconSize - 20, iconSize, iconSize);
         soundEffectIconBounds = new Rectangle(screenWidth - (2 * iconSize) - 20, Gdx.graphics.getHeight() - iconSize - 30, iconSize, iconSize);
+
+        menuInput = new MenuInput(this);
+        newGameWidget = menuInput.add(newGameBounds);
+        loadGameWidget = menuInput.add(loadGameBounds);
+        exitWidget = menuInput.add(exitBounds);
+        soundWidget = menuInput.add(soundIconBounds);
+        soundEffectWidget = menuInput.add(soundEffectIconBounds);
+    }
+
+    // Queues everything the constructor takes from game.resources, for a LoadingScreen in front of this one
+    static void queueAssets(ResourceCache resources) {
+        String[] regions = {"menubackground.png", "newgame.png", "loadgame.png", "exit.png", "logo.png",
+            "soundon.png", "soundoff.png", "soundeffecton.png", "soundeffectoff.png"};
+        for (String region : regions) {
+            resources.queueRegion(region);
+        }
+        resources.queueSound("hover.wav");
+        resources.queueSound("click.wav");
     }
 
     @Override
     public void show() {
-        SoundManager.playMusic(menuMusic);  // Play menu music when the screen is shown
-        Gdx.input.setInputProcessor(this);  // Set this screen as input processor after constructor finishes
+        game.audio.playMusic(MUSIC);  // Fades in once the track is open
+        menuInput.reset();
+        Gdx.input.setInputProcessor(menuInput);  // Set this screen as input processor after constructor finishes
     }
 
     @Override
@@ -107,87 +126,66 @@ public class MainMenuScreen implements Screen, InputProcessor {
         batch.draw(exitButton, exitBounds.x, exitBounds.y, exitBounds.width, exitBounds.height);
 
         // Draw icons according to the current sound settings
-        if (SoundManager.isMusicEnabled()) {
+        if (game.audio.isMusicEnabled()) {
             batch.draw(soundOnIcon, soundIconBounds.x, soundIconBounds.y, iconSize, iconSize);
         } else {
             batch.draw(soundOffIcon, soundIconBounds.x, soundIconBounds.y, iconSize, iconSize);
         }
 
-        if (SoundManager.isSoundEffectsEnabled()) {
+        if (game.audio.isSoundEffectsEnabled()) {
             batch.draw(soundEffectOnIcon, soundEffectIconBounds.x, soundEffectIconBounds.y, iconSize, iconSize);
         } else {
             batch.draw(soundEffectOffIcon, soundEffectIconBounds.x, soundEffectIconBounds.y, iconSize, iconSize);
         }
 
         batch.end();
-
-        float touchX = Gdx.input.getX();
-        float touchY = Gdx.graphics.getHeight() - Gdx.input.getY();
-
-        checkHoverSound(touchX, touchY);
-
-        if (Gdx.input.justTouched()) {
-            if (newGameBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new CharacterSelectScreen(game));
-            } else if (loadGameBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new LoadGameScreen(game));
-            } else if (exitBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                Gdx.app.exit();
-            } else if (soundIconBounds.contains(touchX, touchY)) {
-                SoundManager.toggleMusic(); // Toggle music
-                SoundManager.playMusic(menuMusic); // Play or pause music based on new state
-            } else if (soundEffectIconBounds.contains(touchX, touchY)) {
-                SoundManager.toggleSoundEffects(); // Toggle sound effects
-            }
-        }
     }
 
-    private void checkHoverSound(float touchX, float touchY) {
-        if (newGameBounds.contains(touchX, touchY) && !isHoveringNewGame) {
-            SoundManager.playSound(hoverSound);
-            isHoveringNewGame = true;
-        } else if (!newGameBounds.contains(touchX, touchY)) {
-            isHoveringNewGame = false;
-        }
-
-        if (loadGameBounds.contains(touchX, touchY) && !isHoveringLoadGame) {
-            SoundManager.playSound(hoverSound);
-            isHoveringLoadGame = true;
-        } else if (!loadGameBounds.contains(touchX, touchY)) {
-            isHoveringLoadGame = false;
+    @Override
+    public void hovered(int widget) {
+        // Only the three big buttons make a sound
+        if (widget == newGameWidget || widget == loadGameWidget || widget == exitWidget) {
+            game.audio.playSound(hoverSound, AudioManager.PRIORITY_HOVER);
         }
+    }
 
-        if (exitBounds.contains(touchX, touchY) && !isHoveringExit) {
-            SoundManager.playSound(hoverSound);
-            isHoveringExit = true;
-        } else if (!exitBounds.contains(touchX, touchY)) {
-            isHoveringExit = false;
+    @Override
+    public void clicked(int widget) {
+        if (widget == newGameWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.showScreen(CharacterSelectScreen.class, () -> new CharacterSelectScreen(game));
+        } else if (widget == loadGameWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.showScreen(LoadGameScreen.class, () -> new LoadGameScreen(game));
+        } else if (widget == exitWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            Gdx.app.exit();
+        } else if (widget == soundWidget) {
+            game.audio.toggleMusic(); // Fades the menu music out or back in
+        } else if (widget == soundEffectWidget) {
+            game.audio.toggleSoundEffects(); // Toggle sound effects
         }
     }
 
     @Override
     public void hide() {
-        SoundManager.stopMusic(menuMusic); // Stop menu music when leaving the screen
+        game.audio.stopMusic(); // Crossfades into the next screen's music
         Gdx.input.setInputProcessor(null); // Remove input processor
     }
 
     @Override
     public void dispose() {
-        backgroundTexture.dispose();
-        newGameButton.dispose();
-        loadGameButton.dispose();
-        exitButton.dispose();
-        logo.dispose();
-        menuMusic.dispose();
-        hoverSound.dispose();
-        clickSound.dispose();
-        soundOnIcon.dispose();
-        soundOffIcon.dispose();
-        soundEffectOnIcon.dispose();
-        soundEffectOffIcon.dispose();
+        game.resources.release(backgroundTexture);
+        game.resources.release(newGameButton);
+        game.resources.release(loadGameButton);
+        game.resources.release(exitButton);
+        game.resources.release(logo);
+        game.resources.release(hoverSound);
+        game.resources.release(clickSound);
+        game.resources.release(soundOnIcon);
+        game.resources.release(soundOffIcon);
+        game.resources.release(soundEffectOnIcon);
+        game.resources.release(soundEffectOffIcon);
     }
 
     @Override
@@ -204,57 +202,4 @@ public class MainMenuScreen implements Screen, InputProcessor {
     public void resume() {
         // Handle game resume if necessary
     }
-
-    // InputProcessor methods
-    @Override
-    public boolean keyDown(int keycode) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean keyUp(int keycode) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean keyTyped(char character) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean touchUp(int screenX, int screenY, int pointer, int button) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean touchDragged(int screenX, int screenY, int pointer) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean mouseMoved(int screenX, int screenY) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean scrolled(float amountX, float amountY) {
-        return false; // Not used
-    }
-
-    @Override
-    public boolean touchCancelled(int screenX, int screenY, int pointer, int button) {
-        return false; // Not used
-    }
 }
-
-
-
-
-
-
-
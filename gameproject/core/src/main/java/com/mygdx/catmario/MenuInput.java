@@ -0,0 +1,108 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
+import com.badlogic.gdx.utils.IntArray;
+
+// Routes mouse events to the rectangular widgets (buttons, icons) of a menu screen.
+// Widgets are looked up through a SpatialHash, and the hover callback only fires when the widget under the
+// pointer changes, so a menu nobody touches does no input work. The backend queues events between frames,
+// so a quick click is never missed the way a Gdx.input.justTouched() poll can miss it.
+public class MenuInput extends InputAdapter {
+    public interface Listener {
+        // The pointer moved onto widget, or off every widget when widget is -1
+        void hovered(int widget);
+
+        void clicked(int widget);
+    }
+
+    private static final float CELL_SIZE = 256;
+
+    private final Listener listener;
+    private final Array<Rectangle> widgets = new Array<>();
+    private final BooleanArray enabled = new BooleanArray();
+    private final SpatialHash index = new SpatialHash(CELL_SIZE, 16);
+    private final IntArray hits = new IntArray();
+    private int hovered = -1;
+
+    public MenuInput(Listener listener) {
+        this.listener = listener;
+    }
+
+    // Registers a widget and returns its id; later widgets win where two overlap
+    public int add(Rectangle bounds) {
+        widgets.add(bounds);
+        enabled.add(true);
+        // Widgets are only added while a screen is built, so rebuilding the whole index here is fine
+        index.clear();
+        for (int i = 0; i < widgets.size; i++) {
+            Rectangle widget = widgets.get(i);
+            index.add(i, widget.x, widget.y, widget.width, widget.height);
+        }
+        return widgets.size - 1;
+    }
+
+    // Disabled widgets are skipped as if they were not there (e.g. buttons hidden behind a dialog)
+    public void setEnabled(int widget, boolean value) {
+        enabled.set(widget, value);
+        if (!value && hovered == widget) {
+            hovered = -1;
+        }
+    }
+
+    // Picks up whatever is under the pointer without firing hovered(); call from show()
+    public void reset() {
+        hovered = widgetAt(Gdx.input.getX(), Gdx.graphics.getHeight() - Gdx.input.getY());
+    }
+
+    public int getHovered() {
+        return hovered;
+    }
+
+    // Widget at the given point in screen coordinates (y up), or -1
+    public int widgetAt(float x, float y) {
+        hits.clear();
+        index.queryAabb(x, y, 0, 0, hits);
+        int top = -1;
+        for (int i = 0; i < hits.size; i++) {
+            int widget = hits.get(i);
+            if (widget > top && enabled.get(widget)) {
+                top = widget;
+            }
+        }
+        return top;
+    }
+
+    @Override
+    public boolean mouseMoved(int screenX, int screenY) {
+        updateHover(screenX, screenY);
+        return false; // Let other processors see the pointer as well
+    }
+
+    @Override
+    public boolean touchDragged(int screenX, int screenY, int pointer) {
+        updateHover(screenX, screenY);
+        return false;
+    }
+
+    @Override
+    public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        updateHover(screenX, screenY);
+        if (hovered == -1) {
+            return false;
+        }
+        listener.clicked(hovered);
+        return true;
+    }
+
+    private void updateHover(int screenX, int screenY) {
+        int widget = widgetAt(screenX, Gdx.graphics.getHeight() - screenY);
+        if (widget != hovered) {
+            hovered = widget;
+            listener.hovered(widget);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mygdx.catmario;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Integrates velocities into positions. SOLID entities move through TileMap's swept clipping,
+// x first and then y, and stop dead against a tile on that axis; everything else moves freely.
+//
+// The free movers are the bulk (bullets, later particles), so they go through a flat kernel over the position and
+// velocity arrays. Above parallelThreshold slots that kernel is split into ranges on the common ForkJoinPool.
+// Every slot only reads and writes its own entries, so the result is the same however the work is split.
+public class MovementSystem {
+    public static final int PARALLEL_THRESHOLD = 32768; // Below this the fork/join overhead costs more than it saves
+    private static final int MIN_CHUNK = 8192;           // Slots per task when split
+
+    private static final int QUERY = EntityStore.TRANSFORM | EntityStore.VELOCITY;
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public MovementSystem() {
+        this(PARALLEL_THRESHOLD);
+    }
+
+    // Integer.MAX_VALUE keeps the kernel on the calling thread
+    public MovementSystem(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public void update(EntityStore store, TileMap level, float delta) {
+        int n = store.size();
+        if (n >= parallelThreshold) {
+            pool.invoke(new Chunk(store, 0, n, delta));
+        } else {
+            integrate(store, 0, n, delta);
+        }
+
+        // Few entities are SOLID, and each sweeps against the level on its own
+        for (int i = 0; i < n; i++) {
+            if ((store.mask[i] & (QUERY | EntityStore.SOLID)) == (QUERY | EntityStore.SOLID)) {
+                moveSolid(store, i, level, delta);
+            }
+        }
+    }
+
+    // Keeps every TRANSFORM's previous position for interpolation and moves the free movers in slots [from, to)
+    private static void integrate(EntityStore store, int from, int to, float delta) {
+        float[] x = store.x;
+        float[] y = store.y;
+        float[] prevX = store.prevX;
+        float[] prevY = store.prevY;
+        float[] vx = store.vx;
+        float[] vy = store.vy;
+        int[] mask = store.mask;
+        for (int i = from; i < to; i++) {
+            prevX[i] = x[i];
+            prevY[i] = y[i];
+            if ((mask[i] & (QUERY | EntityStore.SOLID)) == QUERY) {
+                x[i] += vx[i] * delta;
+                y[i] += vy[i] * delta;
+            }
+        }
+    }
+
+    private static void moveSolid(EntityStore store, int i, TileMap level, float delta) {
+        float[] x = store.x;
+        float[] y = store.y;
+        float width = store.width[i];
+        float height = store.height[i];
+        float dx = store.vx[i] * delta;
+        x[i] += level.clipX(x[i], y[i], width, height, dx);
+
+        float dy = store.vy[i] * delta;
+        float allowedDy = level.clipY(x[i], y[i], width, height, dy);
+        y[i] += allowedDy;
+        store.grounded[i] = allowedDy != dy && dy < 0;
+        if (allowedDy != dy) {
+            store.vy[i] = 0; // Landed, or bumped a ceiling
+        }
+    }
+
+    // Halves its range until it is small enough to integrate directly
+    private static class Chunk extends RecursiveAction {
+        private final EntityStore store;
+        private final int from;
+        private final int to;
+        private final float delta;
+
+        Chunk(EntityStore store, int from, int to, float delta) {
+            this.store = store;
+            this.from = from;
+            this.to = to;
+            this.delta = delta;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MIN_CHUNK) {
+                integrate(store, from, to, delta);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Chunk(store, from, middle, delta), new Chunk(store, middle, to, delta));
+        }
+    }
+}
@@ -1,21 +1,24 @@
 package com.mygdx.catmario;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
-public class PauseMenuScreen implements Screen {
+public class PauseMenuScreen implements Screen, MenuInput.Listener {
 
     private final Main game;
     private final SpriteBatch batch;
-    private final Texture backgroundTexture;
-    private final Texture resumeButtonTexture;
-    private final Texture saveGameButtonTexture;
-    private final Texture mainMenuButtonTexture; 
+    private final TextureRegion backgroundTexture;
+    private final TextureRegion resumeButtonTexture;
+    private final TextureRegion saveGameButtonTexture;
+    private final TextureRegion mainMenuButtonTexture; 
     private final Rectangle resumeButtonBounds;
     private final Rectangle saveGameButtonBounds;
     private final Rectangle mainMenuButtonBounds; 
@@ -26,7 +29,12 @@ public class PauseMenuScreen implements Screen {
     private final Sound hoverSound;
     private final Sound clickSound;
 
-    private boolean isButtonPressed = false;
+    // Button clicks, plus Escape to go back to the game
+    private final MenuInput menuInput;
+    private final InputMultiplexer input;
+    private final int resumeWidget;
+    private final int saveGameWidget;
+    private final int mainMenuWidget;
 
     public PauseMenuScreen(Main game, int selectedCharacter, String characterName) {
         this.game = game;
@@ -34,10 +42,10 @@ public class PauseMenuScreen implements Screen {
         this.selectedCharacter = selectedCharacter;
         this.characterName = characterName;  // Store the characterName
 
-        backgroundTexture = new Texture("pausebackground.png");
-        resumeButtonTexture = new Texture("resume.png");
-        saveGameButtonTexture = new Texture("savegame.png");
-        mainMenuButtonTexture = new Texture("mainmenu.png");
+        backgroundTexture = game.resources.getRegion("pausebackground.png");
+        resumeButtonTexture = game.resources.getRegion("resume.png");
+        saveGameButtonTexture = game.resources.getRegion("savegame.png");
+        mainMenuButtonTexture = game.resources.getRegion("mainmenu.png");
 
         float buttonWidth = 350;
         float buttonHeight = 350;
@@ -51,8 +59,23 @@ public class PauseMenuScreen implements Screen {
         mainMenuButtonBounds = new Rectangle(centerX, centerYMainMenu, buttonWidth, buttonHeight);
 
         // Load sounds
-        hoverSound = Gdx.audio.newSound(Gdx.files.internal("hover.wav"));
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("click.wav"));
+        hoverSound = game.resources.getSound("hover.wav");
+        clickSound = game.resources.getSound("click.wav");
+
+        menuInput = new MenuInput(this);
+        resumeWidget = menuInput.add(resumeButtonBounds);
+        saveGameWidget = menuInput.add(saveGameButtonBounds);
+        mainMenuWidget = menuInput.add(mainMenuButtonBounds);
+        input = new InputMultiplexer(menuInput, new InputAdapter() {
+            @Override
+            public boolean keyDown(int keycode) {
+                if (keycode == Input.Keys.ESCAPE) {
+                    game.popScreen();  // Escape toggles back to the game
+                    return true;
+                }
+                return false;
+            }
+        });
     }
 
     @Override
@@ -66,35 +89,35 @@ public class PauseMenuScreen implements Screen {
         batch.draw(saveGameButtonTexture, saveGameButtonBounds.x, saveGameButtonBounds.y, saveGameButtonBounds.width, saveGameButtonBounds.height);
         batch.draw(mainMenuButtonTexture, mainMenuButtonBounds.x, mainMenuButtonBounds.y, mainMenuButtonBounds.width, mainMenuButtonBounds.height);
         batch.end();
+    }
 
-        float touchX = Gdx.input.getX();
-        float touchY = Gdx.graphics.getHeight() - Gdx.input.getY();
-
-        if (Gdx.input.isTouched() && !isButtonPressed) {
-            if (resumeButtonBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new GameScreen(game, selectedCharacter, characterName));  // Pass characterName
-            } else if (saveGameButtonBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new SaveScreen(game, selectedCharacter, characterName));  // Pass characterName
-            } else if (mainMenuButtonBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new MainMenuScreen(game));
-            }
-            isButtonPressed = true;
-        } else if (!Gdx.input.isTouched()) {
-            isButtonPressed = false;
+    @Override
+    public void hovered(int widget) {
+        // The pause menu has no hover sound
+    }
+
+    @Override
+    public void clicked(int widget) {
+        if (widget == resumeWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.popScreen();  // Back to the suspended game
+        } else if (widget == saveGameWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.pushScreen(new SaveScreen(game, selectedCharacter, characterName));  // Pass characterName
+        } else if (widget == mainMenuWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.showScreen(MainMenuScreen.class, () -> new MainMenuScreen(game));
         }
     }
 
     @Override
     public void dispose() {
-        backgroundTexture.dispose();
-        resumeButtonTexture.dispose();
-        saveGameButtonTexture.dispose();
-        mainMenuButtonTexture.dispose();
-        hoverSound.dispose();
-        clickSound.dispose();
+        game.resources.release(backgroundTexture);
+        game.resources.release(resumeButtonTexture);
+        game.resources.release(saveGameButtonTexture);
+        game.resources.release(mainMenuButtonTexture);
+        game.resources.release(hoverSound);
+        game.resources.release(clickSound);
     }
 
     @Override
@@ -107,10 +130,15 @@ public class PauseMenuScreen implements Screen {
     public void resume() {}
 
     @Override
-    public void hide() {}
+    public void hide() {
+        Gdx.input.setInputProcessor(null);
+    }
 
     @Override
-    public void show() {}
+    public void show() {
+        menuInput.reset();
+        Gdx.input.setInputProcessor(input);
+    }
 }
 
 
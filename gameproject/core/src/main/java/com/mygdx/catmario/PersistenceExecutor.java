@@ -0,0 +1,111 @@
+package com.mygdx.catmario;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+// Runs disk writes on one background thread so the render thread never waits on I/O.
+// Writes run in submission order; a keyed write that is still queued is replaced by a newer one with the same key.
+public class PersistenceExecutor implements Disposable {
+    private static final String TAG = "Persistence";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor;
+    private final ObjectMap<String, Runnable[]> pending = new ObjectMap<>(); // key -> {write, onComplete} not yet started
+
+    public PersistenceExecutor() {
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "persistence");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs write in the background, then onComplete (may be null) on the render thread.
+    // With a non-null key, a queued write for the same key is dropped in favour of this one.
+    public void execute(String key, Runnable write, Runnable onComplete) {
+        if (key == null) {
+            executor.execute(() -> run(write, onComplete));
+            return;
+        }
+        synchronized (pending) {
+            boolean queued = pending.containsKey(key);
+            pending.put(key, new Runnable[] {write, onComplete});
+            if (queued) {
+                return; // The queued task picks up the newer write
+            }
+        }
+        executor.execute(() -> {
+            Runnable[] latest;
+            synchronized (pending) {
+                latest = pending.remove(key);
+            }
+            run(latest[0], latest[1]);
+        });
+    }
+
+    // Replaces target with bytes via a temp file and rename, so a crash never leaves a half-written file
+    public void writeAtomic(FileHandle target, byte[] bytes, Runnable onComplete) {
+        execute(target.path(), () -> replaceFile(target, bytes), onComplete);
+    }
+
+    // What writeAtomic() does, on the calling thread; for writes that are already running in the background
+    static void replaceFile(FileHandle target, byte[] bytes) {
+        File file = target.file();
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                out.write(bytes);
+                out.getFD().sync();
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not write " + target.path(), e);
+        }
+    }
+
+    private void run(Runnable write, Runnable onComplete) {
+        try {
+            write.run();
+        } catch (RuntimeException e) {
+            Gdx.app.error(TAG, "Background write failed", e);
+            return;
+        }
+        if (onComplete != null) {
+            Gdx.app.postRunnable(onComplete);
+        }
+    }
+
+    // Finishes the writes that are already queued before returning
+    @Override
+    public void dispose() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Gdx.app.error(TAG, "Gave up waiting for pending writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.utils.IntArray;
+
+// Lets a player collect the PICKUP entities it touches; each one adds its value in lives
+public class PickupSystem {
+    public static final int SCORE_PER_PICKUP = 100;
+    private static final int MAX_LIVES = 5; // As many hearts as fit in the status box
+
+    private final IntArray hits = new IntArray();
+
+    // Collects what the player overlaps in colliders (tagged with entity ids) and returns the score gained
+    public int update(EntityStore store, SpatialHash colliders, int player) {
+        if (!store.isAlive(player) || !store.has(player, EntityStore.HEALTH)) {
+            return 0;
+        }
+        hits.clear();
+        colliders.queryAabb(store.getX(player), store.getY(player), store.getWidth(player), store.getHeight(player), hits);
+
+        int score = 0;
+        for (int i = 0; i < hits.size; i++) {
+            int entity = hits.get(i);
+            if (entity == player || !store.has(entity, EntityStore.PICKUP)) {
+                continue;
+            }
+            int slot = store.slotOf(player);
+            store.lives[slot] = Math.min(MAX_LIVES, store.lives[slot] + store.value[store.slotOf(entity)]);
+            store.destroy(entity); // Ids stay valid, so the other hits can still be looked up
+            score += SCORE_PER_PICKUP;
+        }
+        return score;
+    }
+}
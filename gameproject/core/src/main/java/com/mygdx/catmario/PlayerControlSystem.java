@@ -0,0 +1,42 @@
+package com.mygdx.catmario;
+
+// Applies the tick's input bits to every PLAYER entity: walking, double jumping and firing
+public class PlayerControlSystem {
+    private static final int QUERY = EntityStore.PLAYER | EntityStore.TRANSFORM | EntityStore.VELOCITY;
+
+    private static final float MOVE_SPEED = 300; // Character move speed
+    private static final float JUMP_VELOCITY = 400; // Initial jump velocity
+    private static final int MAX_JUMPS = 2;
+    private static final float MUZZLE_X = 170; // Bullets start just right of the character
+    private static final float MUZZLE_Y = -10; // Relative to the middle of the character
+
+    public void update(EntityStore store, int input) {
+        // Bullets spawned here go past the end of the range, so they are not visited until the next tick
+        for (int i = 0, n = store.size(); i < n; i++) {
+            if ((store.mask[i] & QUERY) != QUERY) {
+                continue;
+            }
+
+            float speed = 0;
+            if ((input & InputSource.RIGHT) != 0) {
+                speed += MOVE_SPEED;
+            }
+            if ((input & InputSource.LEFT) != 0) {
+                speed -= MOVE_SPEED;
+            }
+            store.vx[i] = speed;
+
+            if (store.grounded[i]) {
+                store.jumps[i] = 0; // Landed during the last tick
+            }
+            if ((input & InputSource.JUMP) != 0 && store.jumps[i] < MAX_JUMPS) {
+                store.vy[i] = JUMP_VELOCITY;
+                store.jumps[i]++;
+            }
+
+            if ((input & InputSource.FIRE) != 0) {
+                Prefabs.bullet(store, store.x[i] + MUZZLE_X, store.y[i] + store.height[i] / 2 + MUZZLE_Y);
+            }
+        }
+    }
+}
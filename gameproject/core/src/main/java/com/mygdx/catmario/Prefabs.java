@@ -0,0 +1,63 @@
+package com.mygdx.catmario;
+
+// The kinds of entity in the game: which components each one gets and what they start with.
+// A new actor type is a new method here plus, if it behaves differently, a system that queries for it.
+public final class Prefabs {
+    // Sprite ids; GameScreen maps them to textures for the RenderSystem
+    public static final int SPRITE_PLAYER = 0;
+    public static final int SPRITE_BULLET = 1;
+    public static final int SPRITE_HEART = 2;
+    public static final int SPRITE_COUNT = 3;
+
+    public static final int PLAYER_LIVES = 3;
+    public static final int PLAYER_HP = 100;
+
+    private static final float BULLET_SPEED = 500;
+    private static final float BULLET_WIDTH = 80;
+    private static final float BULLET_HEIGHT = 20;
+    private static final float HEART_WIDTH = 60;
+    private static final float HEART_HEIGHT = 40;
+
+    private Prefabs() {
+    }
+
+    public static int player(EntityStore store, float x, float y, float width, float height) {
+        int entity = store.create(EntityStore.TRANSFORM | EntityStore.VELOCITY | EntityStore.GRAVITY
+            | EntityStore.SOLID | EntityStore.PLAYER | EntityStore.SPRITE | EntityStore.HEALTH);
+        if (entity == -1) {
+            return -1;
+        }
+        store.setPosition(entity, x, y);
+        store.setSize(entity, width, height);
+        store.setSprite(entity, SPRITE_PLAYER);
+        store.setHealth(entity, PLAYER_LIVES, PLAYER_HP);
+        return entity;
+    }
+
+    // Returns -1 when the store is full; the shot is simply dropped
+    public static int bullet(EntityStore store, float x, float y) {
+        int entity = store.create(EntityStore.TRANSFORM | EntityStore.VELOCITY | EntityStore.PROJECTILE
+            | EntityStore.SPRITE);
+        if (entity == -1) {
+            return -1;
+        }
+        store.setPosition(entity, x, y);
+        store.setSize(entity, BULLET_WIDTH, BULLET_HEIGHT);
+        store.setVelocity(entity, BULLET_SPEED, 0); // Move right
+        store.setSprite(entity, SPRITE_BULLET);
+        return entity;
+    }
+
+    // A heart floating at the bottom-left corner of the tile at (x, y); worth one life
+    public static int heart(EntityStore store, float x, float y) {
+        int entity = store.create(EntityStore.TRANSFORM | EntityStore.PICKUP | EntityStore.SPRITE);
+        if (entity == -1) {
+            return -1;
+        }
+        store.setPosition(entity, x, y);
+        store.setSize(entity, HEART_WIDTH, HEART_HEIGHT);
+        store.setSprite(entity, SPRITE_HEART);
+        store.setValue(entity, 1);
+        return entity;
+    }
+}
@@ -0,0 +1,22 @@
+package com.mygdx.catmario;
+
+// Retires PROJECTILE entities that have flown past the right edge of the world.
+// They are only marked during the scan and removed together by one compaction, instead of one swap-remove each.
+public class ProjectileSystem {
+    private static final int QUERY = EntityStore.PROJECTILE | EntityStore.TRANSFORM;
+
+    public void update(EntityStore store, float maxX) {
+        int[] mask = store.mask;
+        float[] x = store.x;
+        boolean retired = false;
+        for (int i = 0, n = store.size(); i < n; i++) {
+            if ((mask[i] & QUERY) == QUERY && x[i] > maxX) {
+                store.destroyLater(i);
+                retired = true;
+            }
+        }
+        if (retired) {
+            store.compact();
+        }
+    }
+}
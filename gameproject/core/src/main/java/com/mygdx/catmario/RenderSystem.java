@@ -0,0 +1,35 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+
+// Draws every SPRITE entity in slot order, between its last two tick positions, skipping what is off camera
+public class RenderSystem {
+    private static final int QUERY = EntityStore.SPRITE | EntityStore.TRANSFORM;
+
+    private final TextureRegion[] sprites; // Indexed by sprite id (see Prefabs)
+
+    public RenderSystem(TextureRegion[] sprites) {
+        this.sprites = sprites;
+    }
+
+    // alpha comes from the SimulationClock; view is the world area the camera sees
+    public void draw(EntityStore store, SpriteBatch batch, float alpha, Rectangle view) {
+        float viewRight = view.x + view.width;
+        float viewTop = view.y + view.height;
+        for (int i = 0, n = store.size(); i < n; i++) {
+            if ((store.mask[i] & QUERY) != QUERY) {
+                continue;
+            }
+            float drawX = store.prevX[i] + (store.x[i] - store.prevX[i]) * alpha;
+            float drawY = store.prevY[i] + (store.y[i] - store.prevY[i]) * alpha;
+            float width = store.width[i];
+            float height = store.height[i];
+            if (drawX > viewRight || drawX + width < view.x || drawY > viewTop || drawY + height < view.y) {
+                continue; // Off camera; skipping it here saves the vertex work as well as the fill
+            }
+            batch.draw(sprites[store.sprite[i]], drawX, drawY, width, height);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.mygdx.catmario;
+
+import java.io.File;
+
+import com.badlogic.gdx.files.FileHandle;
+
+// Replays a recorded session (see InputRecording) without a window, as fast as the simulation allows,
+// and checks every state hash against the ones taken while it was recorded.
+//
+//   ./gradlew core:replay -Preplay=assets/replays/replay-123.cmr [-Prepeat=20]
+//
+// Exits with status 1 if the replay diverges, so it can run against new builds in CI.
+// With repeat > 1 it doubles as a benchmark of the simulation under real player input.
+public class ReplayRunner {
+    public static void main(String[] args) {
+        if (args.length < 2 || args[1].isEmpty()) {
+            System.err.println("Usage: ReplayRunner <assets directory> <replay file> [repeat]");
+            System.exit(2);
+        }
+        File assets = new File(args[0]);
+        InputRecording recording = InputRecording.fromBytes(new FileHandle(new File(args[1])).readBytes());
+        int repeat = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        TileMap level = TileMap.load(new FileHandle(new File(assets, recording.getLevelPath())));
+
+        System.out.println("Replaying " + recording.getTickCount() + " ticks at " + recording.getTickRate()
+            + " Hz on " + recording.getLevelPath());
+
+        boolean matched = true;
+        long bestNanos = Long.MAX_VALUE;
+        long finalHash = 0;
+        for (int run = 0; run < repeat; run++) {
+            long start = System.nanoTime();
+            GameWorld world = replay(recording, level);
+            long nanos = System.nanoTime() - start;
+            bestNanos = Math.min(bestNanos, nanos);
+            finalHash = world.hashState();
+            if (run == 0) {
+                matched = verify(recording, level);
+            }
+        }
+
+        double seconds = bestNanos / 1e9;
+        double recordedSeconds = recording.getTickCount() / recording.getTickRate();
+        System.out.printf("Final state hash %016x%n", finalHash);
+        System.out.printf("Best run %.2f ms, %.0f ticks/s, %.0fx real time%n",
+            seconds * 1000, recording.getTickCount() / seconds, recordedSeconds / seconds);
+        if (!matched) {
+            System.exit(1);
+        }
+    }
+
+    private static GameWorld replay(InputRecording recording, TileMap level) {
+        GameWorld world = createWorld(recording, level);
+        float step = 1f / recording.getTickRate(); // Same step SimulationClock used while recording
+        for (int tick = 0; tick < recording.getTickCount(); tick++) {
+            world.step(step);
+        }
+        return world;
+    }
+
+    // Runs the recording again and compares every checkpoint; reports the first one that differs
+    private static boolean verify(InputRecording recording, TileMap level) {
+        GameWorld world = createWorld(recording, level);
+        float step = 1f / recording.getTickRate();
+        int checkpoint = 0;
+        for (int tick = 1; tick <= recording.getTickCount(); tick++) {
+            world.step(step);
+            if (tick % InputRecording.CHECKPOINT_TICKS == 0 && checkpoint < recording.getCheckpointCount()) {
+                long expected = recording.getCheckpoint(checkpoint++);
+                long actual = world.hashState();
+                if (actual != expected) {
+                    System.out.printf("Diverged by tick %d: expected %016x, got %016x%n", tick, expected, actual);
+                    return false;
+                }
+            }
+        }
+        System.out.println("All " + checkpoint + " checkpoints match");
+        return true;
+    }
+
+    private static GameWorld createWorld(InputRecording recording, TileMap level) {
+        GameWorld world = new GameWorld(level, recording.playback(), level.getPixelWidth());
+        world.createPlayer(recording.getStartX(), recording.getStartY(),
+            recording.getCharacterWidth(), recording.getCharacterHeight());
+        return world;
+    }
+}
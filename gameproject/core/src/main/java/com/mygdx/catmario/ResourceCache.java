@@ -0,0 +1,203 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+// Game-wide cache of textures and sounds shared by every screen.
+// Screens get an asset here and hand it back with release() in their dispose().
+// A screen's assets can also be queued ahead and streamed in over several frames (see LoadingScreen).
+public class ResourceCache implements Disposable {
+    private static final String TAG = "ResourceCache";
+    // Written by the packTextures Gradle task, one atlas per tier under atlas/<tier>/game.atlas. Every tier holds
+    // every PNG in assets/ as a region named after the file, downscaled for a screen of the tier's height.
+    private static final int[] ATLAS_TIERS = {720, 1080, 2160};
+
+    private final AssetManager assetManager;
+    private final String atlasPath;   // The tier in use, or null without a packed atlas
+    private final boolean atlasAvailable;
+    private final ObjectIntMap<String> refCounts = new ObjectIntMap<>();   // Live handles per asset path
+    private final ObjectIntMap<String> textureSizes = new ObjectIntMap<>(); // Estimated GPU bytes per texture
+    private final Array<String> idleTextures = new Array<>(); // Unreferenced but still resident, oldest first
+    private final ObjectMap<String, TextureRegion> looseRegions = new ObjectMap<>(); // Regions over unpacked textures
+    private final long textureBudgetBytes;
+    private long textureBytes; // Estimated bytes of all resident textures
+
+    // screenHeight picks the atlas tier, in pixels
+    public ResourceCache(long textureBudgetBytes, int screenHeight) {
+        this.assetManager = new AssetManager();
+        this.textureBudgetBytes = textureBudgetBytes;
+        this.atlasPath = selectAtlas(screenHeight);
+        this.atlasAvailable = atlasPath != null;
+        if (atlasAvailable) {
+            Gdx.app.log(TAG, "Using " + atlasPath + " for a " + screenHeight + " pixel high screen");
+        }
+    }
+
+    // The smallest packed tier at least as tall as the screen; on taller screens the largest one there is.
+    // Regions are always drawn at an explicit size, so any tier works, only sharper or softer.
+    private static String selectAtlas(int screenHeight) {
+        String chosen = null;
+        for (int tier : ATLAS_TIERS) {
+            String path = "atlas/" + tier + "/game.atlas";
+            if (Gdx.files.internal(path).exists()) {
+                chosen = path;
+                if (tier >= screenHeight) {
+                    break;
+                }
+            }
+        }
+        return chosen;
+    }
+
+    // Prefer this over getTexture() for anything drawn with the SpriteBatch: regions from the packed atlas
+    // share a few pages, so a whole screen draws without switching textures
+    public TextureRegion getRegion(String path) {
+        if (atlasAvailable) {
+            TextureAtlas atlas = acquire(atlasPath, TextureAtlas.class);
+            TextureRegion region = atlas.findRegion(path.substring(0, path.lastIndexOf('.')));
+            if (region != null) {
+                return region;
+            }
+            release(atlas); // Not packed; fall back to the loose file
+        }
+
+        // No atlas (e.g. running before packTextures), so wrap the loose texture
+        Texture texture = getTexture(path);
+        TextureRegion region = looseRegions.get(path);
+        if (region == null) {
+            region = new TextureRegion(texture);
+            looseRegions.put(path, region);
+        }
+        return region;
+    }
+
+    public Texture getTexture(String path) {
+        Texture texture = acquire(path, Texture.class);
+        if (!textureSizes.containsKey(path)) {
+            int bytes = texture.getWidth() * texture.getHeight() * 4; // RGBA8888
+            textureSizes.put(path, bytes);
+            textureBytes += bytes;
+            evictIdleTextures();
+        }
+        return texture;
+    }
+
+    public Sound getSound(String path) {
+        return acquire(path, Sound.class);
+    }
+
+    // Starts loading what getRegion(path) will need without waiting for it; see update()
+    public void queueRegion(String path) {
+        if (atlasAvailable) {
+            if (!assetManager.isLoaded(atlasPath, TextureAtlas.class)) {
+                queue(atlasPath, TextureAtlas.class); // Whether path is packed is only known once the atlas is in
+                return;
+            }
+            TextureAtlas atlas = assetManager.get(atlasPath, TextureAtlas.class);
+            if (atlas.findRegion(path.substring(0, path.lastIndexOf('.'))) != null) {
+                return;
+            }
+        }
+        queue(path, Texture.class);
+    }
+
+    public void queueSound(String path) {
+        queue(path, Sound.class);
+    }
+
+    private void queue(String path, Class<?> type) {
+        if (!assetManager.contains(path)) {
+            assetManager.load(path, type); // Loaded with no handles; the first get takes it like any resident asset
+        }
+    }
+
+    // Works through the queued assets. Files are read and decoded on the AssetManager's loader thread; this call
+    // uploads the decoded ones to the GPU, and returns once about budgetMillis have passed or nothing is left.
+    // A single texture is uploaded in one go, so a very large one can overrun the budget for that frame.
+    // Returns true when everything queued is loaded.
+    public boolean update(int budgetMillis) {
+        return assetManager.update(budgetMillis);
+    }
+
+    // Fraction of the queued assets that are loaded, 1 when nothing is queued
+    public float getProgress() {
+        return assetManager.getProgress();
+    }
+
+    private <T> T acquire(String path, Class<T> type) {
+        if (!assetManager.isLoaded(path, type)) {
+            if (!assetManager.contains(path)) {
+                assetManager.load(path, type);
+            }
+            assetManager.finishLoadingAsset(path); // Only decodes on the first request, unless it was queued in time
+        }
+        if (refCounts.getAndIncrement(path, 0, 1) == 0) {
+            idleTextures.removeValue(path, false); // Back in use, no longer an eviction candidate
+        }
+        return assetManager.get(path, type);
+    }
+
+    public void release(TextureRegion region) {
+        if (region instanceof TextureAtlas.AtlasRegion) {
+            release(assetManager.get(atlasPath, TextureAtlas.class));
+        } else {
+            release(region.getTexture());
+        }
+    }
+
+    // Hands back an asset obtained from this cache
+    public void release(Object asset) {
+        String path = assetManager.getAssetFileName(asset);
+        if (path == null) {
+            return; // Not managed here (or already evicted)
+        }
+        int refs = refCounts.get(path, 0);
+        if (refs <= 0) {
+            return;
+        }
+        refCounts.put(path, --refs);
+
+        // Textures stay resident after their last release so menus can switch back without decoding again;
+        // they are only dropped once the texture budget is exceeded
+        if (refs == 0 && textureSizes.containsKey(path)) {
+            idleTextures.add(path);
+            evictIdleTextures();
+        }
+    }
+
+    private void evictIdleTextures() {
+        while (textureBytes > textureBudgetBytes && idleTextures.size > 0) {
+            String path = idleTextures.removeIndex(0);
+            textureBytes -= textureSizes.remove(path, 0);
+            refCounts.remove(path, 0);
+            looseRegions.remove(path);
+            assetManager.unload(path);
+        }
+    }
+
+    public long getTextureBytes() {
+        return textureBytes;
+    }
+
+    public long getTextureBudgetBytes() {
+        return textureBudgetBytes;
+    }
+
+    @Override
+    public void dispose() {
+        assetManager.dispose();
+        refCounts.clear();
+        textureSizes.clear();
+        idleTextures.clear();
+        looseRegions.clear();
+        textureBytes = 0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.mygdx.catmario;
+
+// Everything stored for one save
+public class SaveData {
+    private final long saveId;
+    private final int selectedCharacter;
+    private final String characterName;
+    private final float characterX;
+    private final float characterY;
+    private final long runId;     // Saves of the same play-through share this; their worlds are stored as deltas
+    private final byte[] world;   // WorldSerializer snapshot, null for saves from before it existed
+
+    public SaveData(long saveId, int selectedCharacter, String characterName, float characterX, float characterY) {
+        this(saveId, selectedCharacter, characterName, characterX, characterY, 0, null);
+    }
+
+    public SaveData(long saveId, int selectedCharacter, String characterName, float characterX, float characterY,
+                    long runId, byte[] world) {
+        this.saveId = saveId;
+        this.selectedCharacter = selectedCharacter;
+        this.characterName = characterName;
+        this.characterX = characterX;
+        this.characterY = characterY;
+        this.runId = runId;
+        this.world = world;
+    }
+
+    public long getSaveId() {
+        return saveId;
+    }
+
+    public int getSelectedCharacter() {
+        return selectedCharacter;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    public float getCharacterX() {
+        return characterX;
+    }
+
+    public float getCharacterY() {
+        return characterY;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public byte[] getWorld() {
+        return world;
+    }
+}
@@ -0,0 +1,165 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.HdpiUtils;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+
+// Scrollable list of save slots that only lays out the rows currently on screen.
+// Slot summaries are read from the SaveStore a page at a time as the list scrolls,
+// so the cost of showing the list does not grow with the number of saves.
+public class SaveListView {
+    private static final float ROW_PITCH = 100;       // Distance between the tops of two rows
+    private static final float ROW_HEIGHT = 80;
+    private static final float SCROLL_SMOOTHING = 12; // Higher catches up with the scroll target faster
+    private static final int PAGE_SIZE = 32;          // Slot summaries read from the index at once
+    private static final int MAX_CACHED_PAGES = 4;
+
+    private final SaveStore saves;
+    private int slotCount;
+    private final Rectangle area; // On-screen area of the list; rows outside it are clipped
+
+    private final IntMap<Array<SaveSlot>> pages = new IntMap<>();
+    private final HudText[] rows;  // One per row that can be visible at once, reused while scrolling
+    private final int[] rowSlots;  // Slot each row is currently laid out for, -1 if none
+    private final Rectangle rowBounds = new Rectangle();
+
+    private float scroll;       // Pixels scrolled from the top
+    private float scrollTarget; // Where scroll is easing towards
+
+    public SaveListView(SaveStore saves, BitmapFont font, Rectangle area) {
+        this.saves = saves;
+        this.slotCount = saves.getSlotCount();
+        this.area = area;
+
+        int rowCount = MathUtils.ceil(area.height / ROW_PITCH) + 1;
+        rows = new HudText[rowCount];
+        rowSlots = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            rows[i] = new HudText(font, Color.BLACK);
+            rowSlots[i] = -1;
+        }
+    }
+
+    public int getSlotCount() {
+        return slotCount;
+    }
+
+    // Picks up saves made since the list was built, for a screen shown again; scrolls back to the top
+    public void refresh() {
+        slotCount = saves.getSlotCount();
+        pages.clear();
+        for (int i = 0; i < rowSlots.length; i++) {
+            rowSlots[i] = -1;
+        }
+        scroll = 0;
+        scrollTarget = 0;
+    }
+
+    public void scrollBy(float amount) {
+        float maxScroll = Math.max(0, slotCount * ROW_PITCH - (ROW_PITCH - ROW_HEIGHT) - area.height);
+        scrollTarget = MathUtils.clamp(scrollTarget + amount, 0, maxScroll);
+    }
+
+    // Eases the scroll towards its target; returns whether the rows moved
+    public boolean update(float delta) {
+        if (scroll == scrollTarget) {
+            return false;
+        }
+        scroll += (scrollTarget - scroll) * Math.min(1, SCROLL_SMOOTHING * delta);
+        if (Math.abs(scrollTarget - scroll) < 0.5f) {
+            scroll = scrollTarget;
+        }
+        return true;
+    }
+
+    // Slot under the given point, or -1
+    public int slotAt(float x, float y) {
+        if (!area.contains(x, y)) {
+            return -1;
+        }
+        float offset = area.y + area.height - y + scroll;
+        int slot = (int) (offset / ROW_PITCH);
+        if (slot >= slotCount || offset - slot * ROW_PITCH > ROW_HEIGHT) {
+            return -1; // Below the last slot or in the gap between two rows
+        }
+        return slot;
+    }
+
+    public void draw(SpriteBatch batch, TextureRegion highlight, int selectedSlot) {
+        if (slotCount == 0) {
+            return;
+        }
+        int first = (int) (scroll / ROW_PITCH);
+        int last = Math.min(slotCount - 1, (int) ((scroll + area.height) / ROW_PITCH));
+
+        // Clip partly scrolled rows (and the 5px highlight border) to the list area
+        batch.flush();
+        HdpiUtils.glScissor((int) area.x - 5, (int) area.y - 5, (int) area.width + 10, (int) area.height + 10);
+        Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+
+        for (int slot = first; slot <= last; slot++) {
+            Rectangle bounds = getRowBounds(slot);
+
+            // Draw highlight if selected
+            if (slot == selectedSlot) {
+                batch.setColor(Color.YELLOW);  // Highlight selected save
+                batch.draw(highlight, bounds.x - 5, bounds.y - 5, bounds.width + 10, bounds.height + 10);
+                batch.setColor(Color.WHITE);
+            }
+
+            // Draw save slot text
+            getRowText(slot).draw(batch, bounds.x + 20, bounds.y + bounds.height - 20);
+        }
+
+        batch.flush();
+        Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+    }
+
+    private Rectangle getRowBounds(int slot) {
+        float top = area.y + area.height - (slot * ROW_PITCH - scroll);
+        return rowBounds.set(area.x, top - ROW_HEIGHT, area.width, ROW_HEIGHT);
+    }
+
+    // Rows are assigned by slot modulo the row count, so the visible slots never share one
+    private HudText getRowText(int slot) {
+        int row = slot % rows.length;
+        if (rowSlots[row] != slot) {
+            SaveSlot save = getSlot(slot);
+            rows[row].set("Character: " + save.getCharacterName() + " | Time: " + save.getSaveTime());
+            rowSlots[row] = slot;
+        }
+        return rows[row];
+    }
+
+    private SaveSlot getSlot(int slot) {
+        int page = slot / PAGE_SIZE;
+        Array<SaveSlot> entries = pages.get(page);
+        if (entries == null) {
+            if (pages.size >= MAX_CACHED_PAGES) {
+                evictFarthestPage(page);
+            }
+            entries = new Array<>(PAGE_SIZE);
+            saves.readSlots(page * PAGE_SIZE, PAGE_SIZE, entries);
+            pages.put(page, entries);
+        }
+        return entries.get(slot - page * PAGE_SIZE);
+    }
+
+    private void evictFarthestPage(int page) {
+        int farthest = -1;
+        for (IntMap.Entry<Array<SaveSlot>> entry : pages) {
+            if (farthest == -1 || Math.abs(entry.key - page) > Math.abs(farthest - page)) {
+                farthest = entry.key;
+            }
+        }
+        pages.remove(farthest);
+    }
+}
@@ -1,31 +1,26 @@
 package com.mygdx.catmario;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.TimeZone;
-
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.audio.Sound;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 
-public class SaveScreen implements Screen {
+public class SaveScreen implements Screen, MenuInput.Listener {
 
     private final Main game;
     private final SpriteBatch batch;
-    private final Texture backgroundTexture;
-    private final Texture saveConfirmButtonTexture;
-    private final Texture cancelButtonTexture;
+    private final TextureRegion backgroundTexture;
+    private final TextureRegion saveConfirmButtonTexture;
+    private final TextureRegion cancelButtonTexture;
     private final Rectangle saveConfirmButtonBounds;
     private final Rectangle cancelButtonBounds;
     private final Rectangle blockBounds;
-    private final Texture blockTexture;
+    private final TextureRegion blockTexture;
     private final BitmapFont font;
     private final int selectedCharacter;
     private final String characterName;
@@ -34,9 +29,10 @@ public class SaveScreen implements Screen {
     private final Sound hoverSound;
     private final Sound clickSound;
 
-    // Hover status flags
-    private boolean isHoveringSaveConfirm = false;
-    private boolean isHoveringCancel = false;
+    // Button events
+    private final MenuInput menuInput;
+    private final int saveConfirmWidget;
+    private final int cancelWidget;
 
     public SaveScreen(Main game, int selectedCharacter, String characterName) {
         this.game = game;
@@ -44,13 +40,13 @@ public class SaveScreen implements Screen {
         this.selectedCharacter = selectedCharacter;
         this.characterName = characterName;
 
-        backgroundTexture = new Texture("savebackground.png");
-        saveConfirmButtonTexture = new Texture("confirm.png");
-        cancelButtonTexture = new Texture("cancel.png");
-        blockTexture = new Texture("block.png");
+        backgroundTexture = game.resources.getRegion("savebackground.png");
+        saveConfirmButtonTexture = game.resources.getRegion("confirm.png");
+        cancelButtonTexture = game.resources.getRegion("cancel.png");
+        blockTexture = game.resources.getRegion("block.png");
 
-        hoverSound = Gdx.audio.newSound(Gdx.files.internal("hover.wav"));
-        clickSound = Gdx.audio.newSound(Gdx.files.internal("click.wav"));
+        hoverSound = game.resources.getSound("hover.wav");
+        clickSound = game.resources.getSound("click.wav");
 
         float centerX = Gdx.graphics.getWidth() / 2;
         float centerY = Gdx.graphics.getHeight() / 2;
@@ -67,6 +63,10 @@ public class SaveScreen implements Screen {
         cancelButtonBounds = new Rectangle(cancelButtonX, buttonY, 300, 300);
 
         font = new BitmapFont();
+
+        menuInput = new MenuInput(this);
+        saveConfirmWidget = menuInput.add(saveConfirmButtonBounds);
+        cancelWidget = menuInput.add(cancelButtonBounds);
     }
 
     @Override
@@ -88,72 +88,39 @@ public class SaveScreen implements Screen {
         font.draw(batch, "Do you want to savegame?", blockBounds.x + 140, blockBounds.y + blockBounds.height - 200);
 
         batch.end();
-
-        handleHoverAndInput();
     }
 
-    private void handleHoverAndInput() {
-        float touchX = Gdx.input.getX();
-        float touchY = Gdx.graphics.getHeight() - Gdx.input.getY();
-
-        // Handle hover for Save Confirm button
-        if (saveConfirmButtonBounds.contains(touchX, touchY)) {
-            if (!isHoveringSaveConfirm) {
-                SoundManager.playSound(hoverSound);  // Play hover sound when first hovering
-                isHoveringSaveConfirm = true;
-            }
-        } else {
-            isHoveringSaveConfirm = false;  // Reset hover state when not hovering
-        }
-
-        // Handle hover for Cancel button
-        if (cancelButtonBounds.contains(touchX, touchY)) {
-            if (!isHoveringCancel) {
-                SoundManager.playSound(hoverSound);  // Play hover sound when first hovering
-                isHoveringCancel = true;
-            }
-        } else {
-            isHoveringCancel = false;  // Reset hover state when not hovering
+    @Override
+    public void hovered(int widget) {
+        if (widget != -1) {
+            game.audio.playSound(hoverSound, AudioManager.PRIORITY_HOVER);  // Play hover sound when first hovering
         }
+    }
 
-        // Handle button click events
-        if (Gdx.input.isTouched()) {
-            if (saveConfirmButtonBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                saveGame();  // Save the game data
-                game.setScreen(new PauseMenuScreen(game, selectedCharacter, characterName));
-            } else if (cancelButtonBounds.contains(touchX, touchY)) {
-                SoundManager.playSound(clickSound);
-                game.setScreen(new PauseMenuScreen(game, selectedCharacter, characterName));
-            }
+    @Override
+    public void clicked(int widget) {
+        if (widget == saveConfirmWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            saveGame();  // Save the game data
+            game.popScreen();  // Back to the pause menu
+        } else if (widget == cancelWidget) {
+            game.audio.playSound(clickSound, AudioManager.PRIORITY_CLICK);
+            game.popScreen();
         }
     }
 
     // Method to save the game data with a unique ID
     private void saveGame() {
-        Preferences prefs = Gdx.app.getPreferences("SaveGame");
-
-        // Generate a unique save ID (timestamp)
+        // The save ID is the save time, which the load screen shows
         long saveID = System.currentTimeMillis();
 
-        // Save character and other game states with the unique ID
-        prefs.putInteger("selectedCharacter_" + saveID, selectedCharacter);
-        prefs.putString("characterName_" + saveID, characterName);
-        prefs.putFloat("characterPositionX_" + saveID, game.getCurrentCharacterX());
-        prefs.putFloat("characterPositionY_" + saveID, game.getCurrentCharacterY());
-
-        // Save time in Thailand timezone
-        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("Asia/Bangkok"));
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        String saveTime = dateFormat.format(calendar.getTime());
-        prefs.putString("saveTime_" + saveID, saveTime);
+        // GameScreen left its state in game when it opened the pause menu
+        SaveData save = new SaveData(saveID, selectedCharacter, characterName,
+            game.getCurrentCharacterX(), game.getCurrentCharacterY(), game.getCurrentRunId(), game.getCurrentWorld());
 
-        // Keep track of all save IDs
-        String allSaves = prefs.getString("allSaves", "");
-        allSaves += saveID + ";";  // Add new save ID
-        prefs.putString("allSaves", allSaves);
-
-        prefs.flush();  // Save all preferences to disk
+        // Written in the background; the screen closes straight away
+        game.persistence.execute(null, () -> game.saves.append(save),
+            () -> Gdx.app.log("SaveScreen", "Saved game " + saveID));
     }
 
     @Override
@@ -166,20 +133,25 @@ public class SaveScreen implements Screen {
     public void resume() {}
 
     @Override
-    public void hide() {}
+    public void hide() {
+        Gdx.input.setInputProcessor(null);
+    }
 
     @Override
-    public void show() {}
+    public void show() {
+        menuInput.reset();
+        Gdx.input.setInputProcessor(menuInput);
+    }
 
     @Override
     public void dispose() {
-        backgroundTexture.dispose();
-        saveConfirmButtonTexture.dispose();
-        cancelButtonTexture.dispose();
-        blockTexture.dispose();
+        game.resources.release(backgroundTexture);
+        game.resources.release(saveConfirmButtonTexture);
+        game.resources.release(cancelButtonTexture);
+        game.resources.release(blockTexture);
         font.dispose();
-        hoverSound.dispose();
-        clickSound.dispose();
+        game.resources.release(hoverSound);
+        game.resources.release(clickSound);
     }
 }
 
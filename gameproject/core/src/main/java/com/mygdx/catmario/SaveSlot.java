@@ -0,0 +1,37 @@
+package com.mygdx.catmario;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+// Summary of one save, read from the save index without touching the save data itself
+public class SaveSlot {
+    private final long saveId;          // Also the time the save was made (epoch millis)
+    private final int selectedCharacter;
+    private final String characterName;
+
+    public SaveSlot(long saveId, int selectedCharacter, String characterName) {
+        this.saveId = saveId;
+        this.selectedCharacter = selectedCharacter;
+        this.characterName = characterName;
+    }
+
+    public long getSaveId() {
+        return saveId;
+    }
+
+    public int getSelectedCharacter() {
+        return selectedCharacter;
+    }
+
+    public String getCharacterName() {
+        return characterName;
+    }
+
+    // Save time in Thailand timezone
+    public String getSaveTime() {
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("Asia/Bangkok"));
+        return dateFormat.format(new Date(saveId));
+    }
+}
@@ -0,0 +1,326 @@
+package com.mygdx.catmario;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongMap;
+
+// Save games on disk as two append-only files:
+//   slots.idx - small header, then one fixed-size entry per save (id, data offset/length/CRC, character, name)
+//   slots.dat - the save records themselves, back to back
+// Listing reads only the index; loading a slot reads one index entry and one record.
+//
+// A record is the character, name and position, then the world (see WorldSerializer), packed either in full or
+// as a delta against an earlier full save of the same run. Loading a delta also reads that one base record.
+// Records from before worlds were saved simply end after the position.
+public class SaveStore {
+    private static final String TAG = "SaveStore";
+
+    private static final int MAGIC = 0x434D5356; // "CMSV"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;    // magic + version
+
+    private static final int MAX_INDEXED_NAME = 20; // Same limit as the name entry in CharacterSelectScreen
+    private static final int ENTRY_SIZE = 72;
+    // Entry layout (byte offsets)
+    private static final int ENTRY_SAVE_ID = 0;
+    private static final int ENTRY_DATA_OFFSET = 8;
+    private static final int ENTRY_DATA_LENGTH = 16;
+    private static final int ENTRY_DATA_CRC = 20;
+    private static final int ENTRY_CHARACTER = 24;
+    private static final int ENTRY_NAME_LENGTH = 28;
+    private static final int ENTRY_NAME = 30;
+
+    // How the world of a record is stored
+    private static final int WORLD_FULL = 1;
+    private static final int WORLD_DELTA = 2;
+
+    // The full save the next delta of each run is made against
+    private static class Base {
+        final int slot;
+        final byte[] world;
+
+        Base(int slot, byte[] world) {
+            this.slot = slot;
+            this.world = world;
+        }
+    }
+
+    private final File indexFile;
+    private final File dataFile;
+    private final LongMap<Base> bases = new LongMap<>(); // Run id -> base; filled by saving and loading
+
+    public SaveStore(FileHandle directory) {
+        directory.mkdirs();
+        indexFile = directory.child("slots.idx").file();
+        dataFile = directory.child("slots.dat").file();
+
+        if (indexFile.length() < HEADER_SIZE) {
+            createIndex();
+            importLegacySaves();
+        } else {
+            checkHeader();
+        }
+    }
+
+    public synchronized int getSlotCount() {
+        // A torn entry from an interrupted save is ignored and overwritten by the next one
+        return (int) ((indexFile.length() - HEADER_SIZE) / ENTRY_SIZE);
+    }
+
+    public synchronized SaveSlot readSlot(int slot) {
+        Array<SaveSlot> out = new Array<>(1);
+        readSlots(slot, 1, out);
+        return out.first();
+    }
+
+    // Reads the summaries of slots [first, first + count) with a single read of the index
+    public synchronized void readSlots(int first, int count, Array<SaveSlot> out) {
+        count = Math.min(count, getSlotCount() - first);
+        if (count <= 0) {
+            return;
+        }
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "r")) {
+            ByteBuffer entries = readEntries(index, first, count);
+            for (int i = 0; i < count; i++) {
+                int base = i * ENTRY_SIZE;
+                int nameLength = entries.getShort(base + ENTRY_NAME_LENGTH);
+                char[] name = new char[nameLength];
+                for (int c = 0; c < nameLength; c++) {
+                    name[c] = entries.getChar(base + ENTRY_NAME + c * 2);
+                }
+                out.add(new SaveSlot(entries.getLong(base + ENTRY_SAVE_ID), entries.getInt(base + ENTRY_CHARACTER), new String(name)));
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read save index", e);
+        }
+    }
+
+    // Returns null if the record is damaged
+    public synchronized SaveData load(int slot) {
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "r");
+             RandomAccessFile data = new RandomAccessFile(dataFile, "r")) {
+            long saveId = readEntries(index, slot, 1).getLong(ENTRY_SAVE_ID);
+            DataInputStream in = readRecord(index, data, slot);
+            if (in == null) {
+                return null;
+            }
+            int selectedCharacter = in.readInt();
+            String characterName = in.readUTF();
+            float characterX = in.readFloat();
+            float characterY = in.readFloat();
+            if (in.available() == 0) {
+                return new SaveData(saveId, selectedCharacter, characterName, characterX, characterY);
+            }
+
+            int kind = in.readByte();
+            long runId = in.readLong();
+            byte[] world;
+            if (kind == WORLD_FULL) {
+                world = WorldSerializer.unpack(readPacked(in), null);
+                bases.put(runId, new Base(slot, world)); // Saving on from here deltas against it
+            } else if (kind == WORLD_DELTA) {
+                int baseSlot = in.readInt();
+                byte[] packed = readPacked(in);
+                Base base = bases.get(runId);
+                if (base == null || base.slot != baseSlot) {
+                    base = readBase(index, data, baseSlot);
+                    if (base == null) {
+                        return null;
+                    }
+                    bases.put(runId, base);
+                }
+                world = WorldSerializer.unpack(packed, base.world);
+            } else {
+                throw new GdxRuntimeException("Unknown world encoding " + kind);
+            }
+            return new SaveData(saveId, selectedCharacter, characterName, characterX, characterY, runId, world);
+        } catch (IOException | GdxRuntimeException e) {
+            Gdx.app.error(TAG, "Could not read save slot " + slot, e);
+            return null;
+        }
+    }
+
+    // The record of a slot, or null if it fails its checksum
+    private DataInputStream readRecord(RandomAccessFile index, RandomAccessFile data, int slot) throws IOException {
+        ByteBuffer entry = readEntries(index, slot, 1);
+        long offset = entry.getLong(ENTRY_DATA_OFFSET);
+        int length = entry.getInt(ENTRY_DATA_LENGTH);
+
+        byte[] record = new byte[length];
+        data.seek(offset);
+        data.readFully(record);
+
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        if ((int) crc.getValue() != entry.getInt(ENTRY_DATA_CRC)) {
+            Gdx.app.error(TAG, "Save slot " + slot + " failed its checksum");
+            return null;
+        }
+        return new DataInputStream(new ByteArrayInputStream(record));
+    }
+
+    // The full world a delta was made against, or null if its record is damaged
+    private Base readBase(RandomAccessFile index, RandomAccessFile data, int slot) throws IOException {
+        if (slot < 0 || slot >= getSlotCount()) {
+            throw new GdxRuntimeException("Delta save refers to missing slot " + slot);
+        }
+        DataInputStream in = readRecord(index, data, slot);
+        if (in == null) {
+            return null;
+        }
+        in.readInt();
+        in.readUTF();
+        in.readFloat();
+        in.readFloat();
+        if (in.available() == 0 || in.readByte() != WORLD_FULL) {
+            throw new GdxRuntimeException("Delta save base " + slot + " is not a full save");
+        }
+        in.readLong();
+        return new Base(slot, WorldSerializer.unpack(readPacked(in), null));
+    }
+
+    private static byte[] readPacked(DataInputStream in) throws IOException {
+        byte[] packed = new byte[in.readInt()];
+        in.readFully(packed);
+        return packed;
+    }
+
+    public synchronized void append(SaveData save) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(save.getSelectedCharacter());
+            out.writeUTF(save.getCharacterName());
+            out.writeFloat(save.getCharacterX());
+            out.writeFloat(save.getCharacterY());
+            Base newBase = writeWorld(out, save);
+            out.flush();
+            byte[] record = bytes.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(record);
+
+            // Record first, index entry last: a save only exists once its entry is written
+            long offset;
+            try (RandomAccessFile data = new RandomAccessFile(dataFile, "rw")) {
+                offset = data.length();
+                data.seek(offset);
+                data.write(record);
+            }
+
+            String name = save.getCharacterName();
+            int nameLength = Math.min(name.length(), MAX_INDEXED_NAME);
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE);
+            entry.putLong(ENTRY_SAVE_ID, save.getSaveId());
+            entry.putLong(ENTRY_DATA_OFFSET, offset);
+            entry.putInt(ENTRY_DATA_LENGTH, record.length);
+            entry.putInt(ENTRY_DATA_CRC, (int) crc.getValue());
+            entry.putInt(ENTRY_CHARACTER, save.getSelectedCharacter());
+            entry.putShort(ENTRY_NAME_LENGTH, (short) nameLength);
+            for (int c = 0; c < nameLength; c++) {
+                entry.putChar(ENTRY_NAME + c * 2, name.charAt(c));
+            }
+
+            try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+                index.seek(HEADER_SIZE + (long) getSlotCount() * ENTRY_SIZE);
+                index.write(entry.array());
+            }
+            if (newBase != null) {
+                bases.put(save.getRunId(), newBase);  // Only once the base is on disk
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not write save " + save.getSaveId(), e);
+        }
+    }
+
+    // Packs the world as a delta against the run's base while that is smaller than packing it in full; otherwise
+    // (first save of a run, or the run has drifted far from its base) it is written in full and becomes the new base.
+    // Returns the new base, or null if the record is a delta (or has no world).
+    private Base writeWorld(DataOutputStream out, SaveData save) throws IOException {
+        byte[] world = save.getWorld();
+        if (world == null) {
+            return null; // Reads back like a record from before worlds were saved
+        }
+        long runId = save.getRunId();
+        Base base = bases.get(runId);
+        byte[] full = WorldSerializer.pack(world, null);
+        byte[] delta = base != null ? WorldSerializer.pack(world, base.world) : null;
+        byte[] packed;
+        Base newBase = null;
+        if (delta != null && delta.length < full.length) {
+            packed = delta;
+            out.writeByte(WORLD_DELTA);
+            out.writeLong(runId);
+            out.writeInt(base.slot);
+        } else {
+            packed = full;
+            out.writeByte(WORLD_FULL);
+            out.writeLong(runId);
+            newBase = new Base(getSlotCount(), world); // The slot this record is appended as
+        }
+        out.writeInt(packed.length);
+        out.write(packed);
+        return newBase;
+    }
+
+    private ByteBuffer readEntries(RandomAccessFile index, int first, int count) throws IOException {
+        byte[] entries = new byte[count * ENTRY_SIZE];
+        index.seek(HEADER_SIZE + (long) first * ENTRY_SIZE);
+        index.readFully(entries);
+        return ByteBuffer.wrap(entries);
+    }
+
+    private void createIndex() {
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "rw")) {
+            index.setLength(0);
+            index.writeInt(MAGIC);
+            index.writeInt(VERSION);
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not create save index " + indexFile, e);
+        }
+        dataFile.delete(); // Records without an index are unreachable
+    }
+
+    private void checkHeader() {
+        try (RandomAccessFile index = new RandomAccessFile(indexFile, "r")) {
+            if (index.readInt() != MAGIC || index.readInt() != VERSION) {
+                throw new GdxRuntimeException("Unsupported save index " + indexFile);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Could not read save index " + indexFile, e);
+        }
+    }
+
+    // Carries over saves written by older versions into the "SaveGame" preferences
+    private void importLegacySaves() {
+        Preferences prefs = Gdx.app.getPreferences("SaveGame");
+        String allSaves = prefs.getString("allSaves", "");
+        for (String saveID : allSaves.split(";")) {
+            if (saveID.isEmpty()) {
+                continue;
+            }
+            try {
+                append(new SaveData(Long.parseLong(saveID),
+                    prefs.getInteger("selectedCharacter_" + saveID, 1),
+                    prefs.getString("characterName_" + saveID, "Unknown"),
+                    prefs.getFloat("characterPositionX_" + saveID, 100),
+                    prefs.getFloat("characterPositionY_" + saveID, 150)));
+            } catch (NumberFormatException e) {
+                Gdx.app.error(TAG, "Skipping unreadable legacy save " + saveID);
+            }
+        }
+    }
+}
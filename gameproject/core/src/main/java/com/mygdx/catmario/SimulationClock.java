@@ -0,0 +1,43 @@
+package com.mygdx.catmario;
+
+// Turns variable frame deltas into a whole number of fixed simulation steps
+public class SimulationClock {
+    private final float step;              // Seconds per simulation tick
+    private final int maxStepsPerFrame;    // Cap on catch-up ticks after a long frame
+    private float accumulator;             // Unsimulated time carried over to the next frame
+
+    public SimulationClock(float ticksPerSecond, int maxStepsPerFrame) {
+        this.step = 1f / ticksPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    // Adds the frame time and returns how many fixed steps should run this frame
+    public int advance(float frameDelta) {
+        accumulator += frameDelta;
+
+        int steps = 0;
+        while (accumulator >= step && steps < maxStepsPerFrame) {
+            accumulator -= step;
+            steps++;
+        }
+
+        // Too far behind (e.g. after a hitch); drop the backlog instead of spiralling
+        if (accumulator >= step) {
+            accumulator %= step;
+        }
+        return steps;
+    }
+
+    // How far between the previous and current simulation state the frame is drawn (0..1)
+    public float getAlpha() {
+        return accumulator / step;
+    }
+
+    public float getStep() {
+        return step;
+    }
+
+    public void reset() {
+        accumulator = 0;
+    }
+}
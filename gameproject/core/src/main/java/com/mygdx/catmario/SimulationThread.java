@@ -0,0 +1,145 @@
+package com.mygdx.catmario;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import com.badlogic.gdx.utils.Disposable;
+
+// Ticks a GameWorld on its own thread at a fixed rate, so a heavy tick overlaps rendering instead of adding to it.
+// After every tick the world is copied into a snapshot and published through a triple buffer: the simulation
+// always has a snapshot of its own to fill, the render thread always has one to draw, and the third holds the
+// newest finished one. Neither side ever waits for the other.
+//
+// Once started, only the simulation thread touches the world; other threads go through runOnSimulation().
+public class SimulationThread implements Disposable {
+    private static final int MAX_STEPS_PER_WAKE = 5; // Cap on catch-up ticks after a stall, as in SimulationClock
+
+    private final GameWorld world;
+    private final float step;       // Seconds per tick
+    private final long stepNanos;
+    private final Thread thread;
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    // Triple buffer; a snapshot is only ever owned by one of these at a time
+    private WorldSnapshot back;                          // Simulation thread only
+    private final AtomicReference<WorldSnapshot> ready;  // Newest finished snapshot
+    private WorldSnapshot front;                         // Render thread only
+
+    private volatile boolean paused;
+    private volatile boolean freeRunning;
+    private volatile boolean running = true;
+
+    public SimulationThread(GameWorld world, float ticksPerSecond) {
+        this.world = world;
+        this.step = 1f / ticksPerSecond;
+        this.stepNanos = (long) (1_000_000_000L / ticksPerSecond);
+        int capacity = world.getEntities().getCapacity();
+        long now = System.nanoTime();
+        back = new WorldSnapshot(capacity);
+        front = new WorldSnapshot(capacity);
+        front.copyFrom(world, now);
+        WorldSnapshot first = new WorldSnapshot(capacity);
+        first.copyFrom(world, now);
+        ready = new AtomicReference<>(first);
+
+        thread = new Thread(this::run, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+        while (running) {
+            runTasks();
+            if (paused) {
+                LockSupport.park(this);
+                next = System.nanoTime(); // No catch-up for the time spent paused
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (!freeRunning && now < next) {
+                LockSupport.parkNanos(this, next - now);
+                continue;
+            }
+
+            int steps = 0;
+            do {
+                world.step(step);
+                next += stepNanos;
+                steps++;
+            } while (!freeRunning && steps < MAX_STEPS_PER_WAKE && System.nanoTime() >= next);
+            if (freeRunning || System.nanoTime() >= next) {
+                next = System.nanoTime() + stepNanos; // Too far behind; drop the backlog instead of spiralling
+            }
+            publish();
+        }
+        runTasks();
+    }
+
+    private void publish() {
+        back.copyFrom(world, System.nanoTime());
+        back = ready.getAndSet(back);
+    }
+
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    // The newest snapshot; the render thread may read it until its next call to this
+    public WorldSnapshot acquire() {
+        // Every publish follows at least one tick, so a higher tick means newer. After a swap, ready holds the
+        // older snapshot given back here, and it is not taken again until the simulation replaces it.
+        if (ready.get().getTick() > front.getTick()) {
+            front = ready.getAndSet(front);
+        }
+        return front;
+    }
+
+    // How far past snapshot the next tick is due (0..1), for interpolating between its previous and current positions
+    public float getAlpha(WorldSnapshot snapshot) {
+        if (paused) {
+            return 1;
+        }
+        float alpha = (System.nanoTime() - snapshot.getNanos()) / (float) stepNanos;
+        return Math.min(1, Math.max(0, alpha));
+    }
+
+    // Runs task on the simulation thread between ticks, e.g. to read state that only that thread may touch
+    public void runOnSimulation(Runnable task) {
+        tasks.add(task);
+        LockSupport.unpark(thread);
+    }
+
+    // A paused simulation keeps its state and still runs tasks
+    public void setPaused(boolean value) {
+        paused = value;
+        LockSupport.unpark(thread);
+    }
+
+    // Ticks back to back instead of in real time, still by the fixed step; for benchmarks
+    public void setFreeRunning(boolean value) {
+        freeRunning = value;
+        LockSupport.unpark(thread);
+    }
+
+    public float getStep() {
+        return step;
+    }
+
+    // Stops after the current tick and waits for the thread; the world can be used directly again afterwards
+    @Override
+    public void dispose() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.mygdx.catmario;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.IntArray;
+
+// Uniform-grid broadphase for axis-aligned boxes. Colliders are rebuilt every tick (clear() then add()),
+// and everything is kept in flat primitive arrays, so a rebuild allocates nothing once the arrays have grown.
+// Cells are hashed into a fixed bucket table; different cells can share a bucket, which is harmless because
+// every candidate is checked against the exact box.
+public class SpatialHash {
+    public static final int NO_HIT = Integer.MIN_VALUE;
+
+    private final float cellSize;
+    private final float inverseCellSize;
+
+    private int[] bucketHead; // First node in each bucket, -1 when empty
+    private int bucketMask;
+
+    // Nodes: one per (collider, cell) pair, linked per bucket
+    private int[] nodeNext = new int[64];
+    private int[] nodeCollider = new int[64];
+    private int nodeCount;
+
+    // Colliders
+    private int[] tags = new int[32];
+    private float[] minX = new float[32];
+    private float[] minY = new float[32];
+    private float[] maxX = new float[32];
+    private float[] maxY = new float[32];
+    private int[] visitStamp = new int[32]; // Stops a collider in several cells being reported twice per query
+    private int colliderCount;
+    private int stamp;
+
+    private float lastRayDistance;
+
+    public SpatialHash(float cellSize, int expectedColliders) {
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        resizeBuckets(expectedColliders);
+    }
+
+    public void clear() {
+        // Keep roughly two buckets per collider so chains stay short as the population grows
+        if (colliderCount * 2 > bucketHead.length) {
+            resizeBuckets(colliderCount);
+        } else {
+            Arrays.fill(bucketHead, -1);
+        }
+        nodeCount = 0;
+        colliderCount = 0;
+    }
+
+    // Adds a box; tag is what queries report for it (e.g. a bullet index)
+    public void add(int tag, float x, float y, float width, float height) {
+        int id = colliderCount++;
+        if (id == tags.length) {
+            growColliders();
+        }
+        tags[id] = tag;
+        minX[id] = x;
+        minY[id] = y;
+        maxX[id] = x + width;
+        maxY[id] = y + height;
+        visitStamp[id] = 0;
+
+        int cellX0 = cell(x);
+        int cellY0 = cell(y);
+        int cellX1 = cell(x + width);
+        int cellY1 = cell(y + height);
+        for (int cy = cellY0; cy <= cellY1; cy++) {
+            for (int cx = cellX0; cx <= cellX1; cx++) {
+                if (nodeCount == nodeNext.length) {
+                    growNodes();
+                }
+                int bucket = bucket(cx, cy);
+                nodeCollider[nodeCount] = id;
+                nodeNext[nodeCount] = bucketHead[bucket];
+                bucketHead[bucket] = nodeCount++;
+            }
+        }
+    }
+
+    // Adds the tag of every collider overlapping the box to out
+    public void queryAabb(float x, float y, float width, float height, IntArray out) {
+        float queryMaxX = x + width;
+        float queryMaxY = y + height;
+        nextStamp();
+
+        int cellX1 = cell(queryMaxX);
+        int cellY1 = cell(queryMaxY);
+        for (int cy = cell(y); cy <= cellY1; cy++) {
+            for (int cx = cell(x); cx <= cellX1; cx++) {
+                for (int node = bucketHead[bucket(cx, cy)]; node != -1; node = nodeNext[node]) {
+                    int id = nodeCollider[node];
+                    if (visitStamp[id] == stamp) {
+                        continue;
+                    }
+                    visitStamp[id] = stamp;
+                    if (minX[id] <= queryMaxX && maxX[id] >= x && minY[id] <= queryMaxY && maxY[id] >= y) {
+                        out.add(tags[id]);
+                    }
+                }
+            }
+        }
+    }
+
+    // Tag of the nearest collider hit by the ray within maxDistance, or NO_HIT.
+    // The direction does not need to be normalized; distances are in units of its length. maxDistance must be finite.
+    public int raycast(float originX, float originY, float directionX, float directionY, float maxDistance) {
+        nextStamp();
+        lastRayDistance = maxDistance;
+        int hit = NO_HIT;
+
+        // Walk the grid cell by cell along the ray (Amanatides & Woo)
+        int cx = cell(originX);
+        int cy = cell(originY);
+        int stepX = directionX > 0 ? 1 : -1;
+        int stepY = directionY > 0 ? 1 : -1;
+        float deltaX = directionX != 0 ? Math.abs(cellSize / directionX) : Float.POSITIVE_INFINITY;
+        float deltaY = directionY != 0 ? Math.abs(cellSize / directionY) : Float.POSITIVE_INFINITY;
+        float nextX = directionX != 0 ? ((stepX > 0 ? cx + 1 : cx) * cellSize - originX) / directionX : Float.POSITIVE_INFINITY;
+        float nextY = directionY != 0 ? ((stepY > 0 ? cy + 1 : cy) * cellSize - originY) / directionY : Float.POSITIVE_INFINITY;
+        float cellEnter = 0;
+
+        while (cellEnter <= lastRayDistance) {
+            for (int node = bucketHead[bucket(cx, cy)]; node != -1; node = nodeNext[node]) {
+                int id = nodeCollider[node];
+                if (visitStamp[id] == stamp) {
+                    continue;
+                }
+                visitStamp[id] = stamp;
+                float distance = rayBox(id, originX, originY, directionX, directionY);
+                if (distance < lastRayDistance) {
+                    lastRayDistance = distance;
+                    hit = tags[id];
+                }
+            }
+
+            // A hit closer than the next cell boundary cannot be beaten by anything further along
+            if (nextX < nextY) {
+                cellEnter = nextX;
+                nextX += deltaX;
+                cx += stepX;
+            } else {
+                cellEnter = nextY;
+                nextY += deltaY;
+                cy += stepY;
+            }
+        }
+        return hit;
+    }
+
+    // Distance to the box hit by the last successful raycast
+    public float getLastRayDistance() {
+        return lastRayDistance;
+    }
+
+    public int size() {
+        return colliderCount;
+    }
+
+    // Slab test; returns the entry distance or +infinity if the ray misses
+    private float rayBox(int id, float originX, float originY, float directionX, float directionY) {
+        float near = 0;
+        float far = Float.POSITIVE_INFINITY;
+        if (directionX != 0) {
+            float t0 = (minX[id] - originX) / directionX;
+            float t1 = (maxX[id] - originX) / directionX;
+            near = Math.max(near, Math.min(t0, t1));
+            far = Math.min(far, Math.max(t0, t1));
+        } else if (originX < minX[id] || originX > maxX[id]) {
+            return Float.POSITIVE_INFINITY;
+        }
+        if (directionY != 0) {
+            float t0 = (minY[id] - originY) / directionY;
+            float t1 = (maxY[id] - originY) / directionY;
+            near = Math.max(near, Math.min(t0, t1));
+            far = Math.min(far, Math.max(t0, t1));
+        } else if (originY < minY[id] || originY > maxY[id]) {
+            return Float.POSITIVE_INFINITY;
+        }
+        return near <= far ? near : Float.POSITIVE_INFINITY;
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private int bucket(int cx, int cy) {
+        return ((cx * 73856093) ^ (cy * 19349663)) & bucketMask;
+    }
+
+    private void nextStamp() {
+        if (++stamp == 0) {
+            Arrays.fill(visitStamp, 0); // Wrapped around; start over so old stamps cannot match
+            stamp = 1;
+        }
+    }
+
+    private void resizeBuckets(int colliders) {
+        int buckets = Integer.highestOneBit(Math.max(16, colliders * 2) - 1) << 1;
+        bucketHead = new int[buckets];
+        bucketMask = buckets - 1;
+        Arrays.fill(bucketHead, -1);
+    }
+
+    private void growColliders() {
+        int capacity = tags.length * 2;
+        tags = Arrays.copyOf(tags, capacity);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        visitStamp = Arrays.copyOf(visitStamp, capacity);
+    }
+
+    private void growNodes() {
+        int capacity = nodeNext.length * 2;
+        nodeNext = Arrays.copyOf(nodeNext, capacity);
+        nodeCollider = Arrays.copyOf(nodeCollider, capacity);
+    }
+}
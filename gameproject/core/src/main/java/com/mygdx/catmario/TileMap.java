@@ -0,0 +1,241 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+// A level as a grid of square tiles, loaded from a text file in assets/levels (see level1.txt for the format).
+// Tile (0, 0) is the bottom-left one. Every non-empty tile is solid; the grid is also what collision runs against.
+public class TileMap {
+    public static final byte EMPTY = 0;
+    private static final float EDGE_EPSILON = 0.001f; // In tiles; a box resting exactly against a tile does not overlap it
+
+    private final int width;   // In tiles
+    private final int height;
+    private final float tileSize;
+    private final byte[] tiles; // Row-major from the bottom; a tile is EMPTY or 1 + its index in tileTypes
+    private final Array<TileType> tileTypes = new Array<>();
+    private float spawnX;
+    private float spawnY;
+    private final FloatArray pickups = new FloatArray(); // x, y pairs of the heart pickups, in world units
+
+    // What a tile looks like: the image, cut into a columns x rows grid that neighbouring tiles step through
+    public static class TileType {
+        public final String image;
+        public final int columns;
+        public final int rows;
+
+        public TileType(String image, int columns, int rows) {
+            this.image = image;
+            this.columns = columns;
+            this.rows = rows;
+        }
+    }
+
+    public TileMap(int width, int height, float tileSize) {
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.tiles = new byte[width * height];
+    }
+
+    public static TileMap load(FileHandle file) {
+        String[] lines = file.readString("UTF-8").split("\r?\n");
+        float tileSize = 0;
+        Array<TileType> types = new Array<>();
+        String typeChars = "";
+        int mapStart = -1;
+
+        for (int i = 0; i < lines.length && mapStart == -1; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            switch (parts[0]) {
+                case "size":
+                    tileSize = Float.parseFloat(parts[1]);
+                    break;
+                case "tile":
+                    typeChars += parts[1].charAt(0);
+                    int columns = parts.length > 3 ? Integer.parseInt(parts[3]) : 1;
+                    int rows = parts.length > 4 ? Integer.parseInt(parts[4]) : 1;
+                    types.add(new TileType(parts[2], columns, rows));
+                    break;
+                case "map":
+                    mapStart = i + 1;
+                    break;
+                default:
+                    throw new GdxRuntimeException("Unknown line in " + file.path() + ": " + line);
+            }
+        }
+        if (mapStart == -1 || tileSize <= 0) {
+            throw new GdxRuntimeException(file.path() + " needs a size and a map");
+        }
+
+        int mapHeight = lines.length - mapStart;
+        while (mapHeight > 0 && lines[mapStart + mapHeight - 1].trim().isEmpty()) {
+            mapHeight--; // Ignore trailing blank lines
+        }
+        int mapWidth = 0;
+        for (int row = 0; row < mapHeight; row++) {
+            mapWidth = Math.max(mapWidth, lines[mapStart + row].length());
+        }
+
+        TileMap map = new TileMap(mapWidth, mapHeight, tileSize);
+        map.tileTypes.addAll(types);
+        for (int row = 0; row < mapHeight; row++) {
+            String line = lines[mapStart + row];
+            int y = mapHeight - 1 - row; // The file lists the top row first
+            for (int x = 0; x < line.length(); x++) {
+                char c = line.charAt(x);
+                if (c == 'P') {
+                    map.spawnX = x * tileSize;
+                    map.spawnY = y * tileSize;
+                } else if (c == 'H') {
+                    map.pickups.add(x * tileSize, y * tileSize);
+                } else if (c != '.') {
+                    int type = typeChars.indexOf(c);
+                    if (type == -1) {
+                        throw new GdxRuntimeException("Undefined tile '" + c + "' in " + file.path());
+                    }
+                    map.setTile(x, y, (byte) (type + 1));
+                }
+            }
+        }
+        return map;
+    }
+
+    public void setTile(int x, int y, byte tile) {
+        tiles[y * width + x] = tile;
+    }
+
+    public byte getTile(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return EMPTY;
+        }
+        return tiles[y * width + x];
+    }
+
+    // Outside the map counts as solid at the sides and bottom, so nothing walks or falls out of the level
+    public boolean isSolid(int x, int y) {
+        if (x < 0 || x >= width || y < 0) {
+            return true;
+        }
+        return y < height && tiles[y * width + x] != EMPTY;
+    }
+
+    // How far a box can move horizontally by dx before it touches a solid tile
+    public float clipX(float x, float y, float boxWidth, float boxHeight, float dx) {
+        int firstRow = (int) Math.floor(y / tileSize + EDGE_EPSILON);
+        int lastRow = (int) Math.ceil((y + boxHeight) / tileSize - EDGE_EPSILON) - 1;
+        if (dx > 0) {
+            float edge = x + boxWidth;
+            int lastColumn = (int) Math.ceil((edge + dx) / tileSize) - 1;
+            for (int column = (int) Math.floor(edge / tileSize); column <= lastColumn; column++) {
+                if (columnBlocked(column, firstRow, lastRow)) {
+                    return Math.max(0, column * tileSize - edge);
+                }
+            }
+        } else if (dx < 0) {
+            int lastColumn = (int) Math.floor((x + dx) / tileSize);
+            for (int column = (int) Math.ceil(x / tileSize) - 1; column >= lastColumn; column--) {
+                if (columnBlocked(column, firstRow, lastRow)) {
+                    return Math.min(0, (column + 1) * tileSize - x);
+                }
+            }
+        }
+        return dx;
+    }
+
+    // How far a box can move vertically by dy before it touches a solid tile
+    public float clipY(float x, float y, float boxWidth, float boxHeight, float dy) {
+        int firstColumn = (int) Math.floor(x / tileSize + EDGE_EPSILON);
+        int lastColumn = (int) Math.ceil((x + boxWidth) / tileSize - EDGE_EPSILON) - 1;
+        if (dy > 0) {
+            float edge = y + boxHeight;
+            int lastRow = (int) Math.ceil((edge + dy) / tileSize) - 1;
+            for (int row = (int) Math.floor(edge / tileSize); row <= lastRow; row++) {
+                if (rowBlocked(row, firstColumn, lastColumn)) {
+                    return Math.max(0, row * tileSize - edge);
+                }
+            }
+        } else if (dy < 0) {
+            int lastRow = (int) Math.floor((y + dy) / tileSize);
+            for (int row = (int) Math.ceil(y / tileSize) - 1; row >= lastRow; row--) {
+                if (rowBlocked(row, firstColumn, lastColumn)) {
+                    return Math.min(0, (row + 1) * tileSize - y);
+                }
+            }
+        }
+        return dy;
+    }
+
+    private boolean columnBlocked(int column, int firstRow, int lastRow) {
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (isSolid(column, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean rowBlocked(int row, int firstColumn, int lastColumn) {
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            if (isSolid(column, row)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public TileType getTileType(byte tile) {
+        return tileTypes.get(tile - 1);
+    }
+
+    // Tile values run from 1 to this count
+    public int getTileTypeCount() {
+        return tileTypes.size;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getTileSize() {
+        return tileSize;
+    }
+
+    public float getPixelWidth() {
+        return width * tileSize;
+    }
+
+    public float getPixelHeight() {
+        return height * tileSize;
+    }
+
+    public float getSpawnX() {
+        return spawnX;
+    }
+
+    public float getSpawnY() {
+        return spawnY;
+    }
+
+    public int getPickupCount() {
+        return pickups.size / 2;
+    }
+
+    public float getPickupX(int index) {
+        return pickups.get(index * 2);
+    }
+
+    public float getPickupY(int index) {
+        return pickups.get(index * 2 + 1);
+    }
+}
@@ -0,0 +1,130 @@
+package com.mygdx.catmario;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+// Draws a TileMap from geometry baked once into a SpriteCache, one cache per CHUNK_TILES x CHUNK_TILES chunk.
+// Tiles never move, so nothing is rebuilt per frame, and only chunks overlapping the view are drawn.
+// With the tile images in the atlas every chunk is a single draw call.
+public class TileMapRenderer implements Disposable {
+    private static final int CHUNK_TILES = 16;
+
+    private final TileMap level;
+    private final ResourceCache resources;
+    private final SpriteCache cache;
+    private final int chunkColumns;
+    private final int chunkRows;
+    private final int[] chunkCacheIds; // -1 for chunks without tiles
+    private final float chunkSize;      // In world units
+    private final Array<TextureRegion> baseRegions = new Array<>(); // One per tile type, released in dispose()
+
+    public TileMapRenderer(TileMap level, ResourceCache resources) {
+        this.level = level;
+        this.resources = resources;
+        this.chunkSize = CHUNK_TILES * level.getTileSize();
+        this.chunkColumns = (level.getWidth() + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.chunkRows = (level.getHeight() + CHUNK_TILES - 1) / CHUNK_TILES;
+        this.chunkCacheIds = new int[chunkColumns * chunkRows];
+
+        // Cut every tile type into its grid of cells up front
+        TextureRegion[][] cells = new TextureRegion[Byte.MAX_VALUE + 1][];
+        int tileCount = 0;
+        for (int y = 0; y < level.getHeight(); y++) {
+            for (int x = 0; x < level.getWidth(); x++) {
+                byte tile = level.getTile(x, y);
+                if (tile != TileMap.EMPTY) {
+                    tileCount++;
+                    if (cells[tile] == null) {
+                        cells[tile] = cutCells(level.getTileType(tile));
+                    }
+                }
+            }
+        }
+
+        cache = new SpriteCache(Math.max(1, tileCount), false);
+        for (int chunkY = 0; chunkY < chunkRows; chunkY++) {
+            for (int chunkX = 0; chunkX < chunkColumns; chunkX++) {
+                chunkCacheIds[chunkY * chunkColumns + chunkX] = bakeChunk(chunkX, chunkY, cells);
+            }
+        }
+    }
+
+    private TextureRegion[] cutCells(TileMap.TileType type) {
+        TextureRegion region = resources.getRegion(type.image);
+        baseRegions.add(region);
+        int cellWidth = region.getRegionWidth() / type.columns;
+        int cellHeight = region.getRegionHeight() / type.rows;
+        TextureRegion[] result = new TextureRegion[type.columns * type.rows];
+        for (int row = 0; row < type.rows; row++) {
+            for (int column = 0; column < type.columns; column++) {
+                result[row * type.columns + column] = new TextureRegion(region, column * cellWidth, row * cellHeight, cellWidth, cellHeight);
+            }
+        }
+        return result;
+    }
+
+    private int bakeChunk(int chunkX, int chunkY, TextureRegion[][] cells) {
+        int firstX = chunkX * CHUNK_TILES;
+        int firstY = chunkY * CHUNK_TILES;
+        int lastX = Math.min(level.getWidth(), firstX + CHUNK_TILES);
+        int lastY = Math.min(level.getHeight(), firstY + CHUNK_TILES);
+        float tileSize = level.getTileSize();
+
+        boolean empty = true;
+        cache.beginCache();
+        for (int y = firstY; y < lastY; y++) {
+            for (int x = firstX; x < lastX; x++) {
+                byte tile = level.getTile(x, y);
+                if (tile == TileMap.EMPTY) {
+                    continue;
+                }
+                TileMap.TileType type = level.getTileType(tile);
+                // Neighbouring tiles step through the cells, top row of the image on the top tile
+                int column = x % type.columns;
+                int row = type.rows - 1 - y % type.rows;
+                cache.add(cells[tile][row * type.columns + column], x * tileSize, y * tileSize, tileSize, tileSize);
+                empty = false;
+            }
+        }
+        int id = cache.endCache();
+        return empty ? -1 : id;
+    }
+
+    // Draws the chunks overlapping the given world rectangle. Call outside SpriteBatch.begin()/end().
+    public void draw(Matrix4 projection, float viewX, float viewY, float viewWidth, float viewHeight) {
+        int firstX = Math.max(0, (int) Math.floor(viewX / chunkSize));
+        int firstY = Math.max(0, (int) Math.floor(viewY / chunkSize));
+        int lastX = Math.min(chunkColumns - 1, (int) Math.floor((viewX + viewWidth) / chunkSize));
+        int lastY = Math.min(chunkRows - 1, (int) Math.floor((viewY + viewHeight) / chunkSize));
+        if (firstX > lastX || firstY > lastY) {
+            return;
+        }
+
+        Gdx.gl.glEnable(GL20.GL_BLEND); // SpriteCache does not turn blending on itself
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        cache.setProjectionMatrix(projection);
+        cache.begin();
+        for (int chunkY = firstY; chunkY <= lastY; chunkY++) {
+            for (int chunkX = firstX; chunkX <= lastX; chunkX++) {
+                int id = chunkCacheIds[chunkY * chunkColumns + chunkX];
+                if (id != -1) {
+                    cache.draw(id);
+                }
+            }
+        }
+        cache.end();
+    }
+
+    @Override
+    public void dispose() {
+        cache.dispose();
+        for (TextureRegion region : baseRegions) {
+            resources.release(region);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.mygdx.catmario;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+// Binary snapshot of everything a GameWorld simulates: tick, score, and every entity's components, so the player,
+// its velocity and jumps, lives and HP, live bullets and the pickups still in the level all come back on load.
+//
+// Layout (big-endian):
+//   header  - magic, version, tick, score, player slot (-1 without a player), entity count
+//   columns - one array per component in slot order: mask, x, y, width, height, vx, vy, grounded, jumps,
+//             sprite, lives, hp, value
+// Keeping each component together means two snapshots of the same run mostly differ in a few float columns,
+// so pack() stores a snapshot XORed against an earlier base: what did not change becomes zeros and deflates to
+// almost nothing. Slot order is stable between ticks (see EntityStore.compact), which keeps the columns aligned.
+public class WorldSerializer {
+    private static final int MAGIC = 0x434D5753; // "CMWS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 24;
+    private static final int COUNT_OFFSET = HEADER_SIZE - 4;
+    private static final int[] COLUMN_BYTES = {4, 4, 4, 4, 4, 4, 4, 1, 4, 4, 4, 4, 4}; // Per entity, in layout order
+    private static final int BYTES_PER_ENTITY = 12 * 4 + 1;
+
+    private WorldSerializer() {
+    }
+
+    // Serializes a world, or a WorldSnapshot's copy of one
+    public static byte[] write(EntityStore store, int player, int score, int tick) {
+        int n = store.size();
+        ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + n * BYTES_PER_ENTITY);
+        out.putInt(MAGIC);
+        out.putInt(VERSION);
+        out.putInt(tick);
+        out.putInt(score);
+        out.putInt(player >= 0 ? store.slotOf(player) : -1);
+        out.putInt(n);
+        putInts(out, store.mask, n);
+        putFloats(out, store.x, n);
+        putFloats(out, store.y, n);
+        putFloats(out, store.width, n);
+        putFloats(out, store.height, n);
+        putFloats(out, store.vx, n);
+        putFloats(out, store.vy, n);
+        for (int i = 0; i < n; i++) {
+            out.put((byte) (store.grounded[i] ? 1 : 0));
+        }
+        putInts(out, store.jumps, n);
+        putInts(out, store.sprite, n);
+        putInts(out, store.lives, n);
+        putInts(out, store.hp, n);
+        putInts(out, store.value, n);
+        return out.array();
+    }
+
+    // Replaces the world's state with a snapshot from write(). Entity ids are reassigned, so ids held from before
+    // are stale; the player's new id is what getPlayer() returns afterwards.
+    public static void read(byte[] data, GameWorld world) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        if (data.length < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new GdxRuntimeException("Not a world snapshot");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new GdxRuntimeException("Unsupported world snapshot version " + version);
+        }
+        int tick = in.getInt();
+        int score = in.getInt();
+        int playerSlot = in.getInt();
+        int n = in.getInt();
+        EntityStore store = world.getEntities();
+        if (n < 0 || n > store.getCapacity() || playerSlot >= n || in.remaining() != n * BYTES_PER_ENTITY) {
+            throw new GdxRuntimeException("Corrupt world snapshot (" + n + " entities)");
+        }
+
+        store.clear();
+        for (int i = 0; i < n; i++) {
+            int mask = in.getInt();
+            if (mask == 0) {
+                throw new GdxRuntimeException("Corrupt world snapshot (empty entity)");
+            }
+            store.create(mask); // Fills slot i
+        }
+        getFloats(in, store.x, n);
+        getFloats(in, store.y, n);
+        getFloats(in, store.width, n);
+        getFloats(in, store.height, n);
+        getFloats(in, store.vx, n);
+        getFloats(in, store.vy, n);
+        for (int i = 0; i < n; i++) {
+            store.grounded[i] = in.get() != 0;
+        }
+        getInts(in, store.jumps, n);
+        getInts(in, store.sprite, n);
+        getInts(in, store.lives, n);
+        getInts(in, store.hp, n);
+        getInts(in, store.value, n);
+        System.arraycopy(store.x, 0, store.prevX, 0, n); // Nothing to interpolate from
+        System.arraycopy(store.y, 0, store.prevY, 0, n);
+
+        world.restore(playerSlot >= 0 ? store.idAt(playerSlot) : -1, score, tick);
+    }
+
+    // Compresses a snapshot from write(), as a delta against base if that is not null.
+    // unpack() needs the same base back.
+    public static byte[] pack(byte[] snapshot, byte[] base) {
+        byte[] delta = base != null ? xor(snapshot, ByteBuffer.wrap(snapshot).getInt(COUNT_OFFSET), base) : snapshot;
+        Deflater deflater = new Deflater();
+        deflater.setInput(delta);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + delta.length / 8);
+        out.write(delta.length >>> 24);
+        out.write(delta.length >>> 16);
+        out.write(delta.length >>> 8);
+        out.write(delta.length);
+        byte[] chunk = new byte[4096];
+        while (!deflater.finished()) {
+            out.write(chunk, 0, deflater.deflate(chunk));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    public static byte[] unpack(byte[] packed, byte[] base) {
+        if (packed.length < 4) {
+            throw new GdxRuntimeException("Corrupt packed world snapshot");
+        }
+        int length = ByteBuffer.wrap(packed).getInt();
+        byte[] delta = new byte[length];
+        Inflater inflater = new Inflater();
+        inflater.setInput(packed, 4, packed.length - 4);
+        try {
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int inflated = inflater.inflate(delta, read, length - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != length) {
+                throw new GdxRuntimeException("Truncated packed world snapshot");
+            }
+        } catch (DataFormatException e) {
+            throw new GdxRuntimeException("Corrupt packed world snapshot", e);
+        } finally {
+            inflater.end();
+        }
+        if (base == null) {
+            return delta;
+        }
+        if (delta.length < HEADER_SIZE) {
+            throw new GdxRuntimeException("Corrupt packed world snapshot");
+        }
+        int count = ByteBuffer.wrap(delta).getInt(COUNT_OFFSET) ^ ByteBuffer.wrap(base).getInt(COUNT_OFFSET);
+        return xor(delta, count, base);
+    }
+
+    private static void putInts(ByteBuffer out, int[] column, int n) {
+        for (int i = 0; i < n; i++) {
+            out.putInt(column[i]);
+        }
+    }
+
+    private static void putFloats(ByteBuffer out, float[] column, int n) {
+        for (int i = 0; i < n; i++) {
+            out.putFloat(column[i]);
+        }
+    }
+
+    private static void getInts(ByteBuffer in, int[] column, int n) {
+        for (int i = 0; i < n; i++) {
+            column[i] = in.getInt();
+        }
+    }
+
+    private static void getFloats(ByteBuffer in, float[] column, int n) {
+        for (int i = 0; i < n; i++) {
+            column[i] = in.getFloat();
+        }
+    }
+
+    // XORs a, laid out for count entities, with base column by column, so the columns still line up when entities
+    // were added or retired since base. Entities past the end of base's columns are left as they are.
+    private static byte[] xor(byte[] a, int count, byte[] base) {
+        int baseCount = base.length >= HEADER_SIZE ? ByteBuffer.wrap(base).getInt(COUNT_OFFSET) : -1;
+        if (count < 0 || baseCount < 0 || a.length != HEADER_SIZE + (long) count * BYTES_PER_ENTITY
+                || base.length != HEADER_SIZE + (long) baseCount * BYTES_PER_ENTITY) {
+            throw new GdxRuntimeException("World snapshot delta does not match its base");
+        }
+        byte[] result = a.clone();
+        for (int i = 0; i < HEADER_SIZE; i++) {
+            result[i] ^= base[i];
+        }
+        int shared = Math.min(count, baseCount);
+        int offset = HEADER_SIZE;
+        int baseOffset = HEADER_SIZE;
+        for (int bytes : COLUMN_BYTES) {
+            for (int i = 0, n = shared * bytes; i < n; i++) {
+                result[offset + i] ^= base[baseOffset + i];
+            }
+            offset += count * bytes;
+            baseOffset += baseCount * bytes;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.mygdx.catmario;
+
+// A copy of the world state that the render side draws, taken after a tick.
+// SimulationThread fills these on its own thread and hands finished ones to the render thread.
+public class WorldSnapshot {
+    private final EntityStore entities;
+    private int player = -1;
+    private int score;
+    private int tick;
+    private long nanos; // System.nanoTime() when the tick finished, for interpolating towards the next one
+
+    public WorldSnapshot(int capacity) {
+        entities = new EntityStore(capacity);
+    }
+
+    public void copyFrom(GameWorld world, long timeNanos) {
+        entities.copyFrom(world.getEntities());
+        player = world.getPlayer();
+        score = world.getScore();
+        tick = world.getTick();
+        nanos = timeNanos;
+    }
+
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+}
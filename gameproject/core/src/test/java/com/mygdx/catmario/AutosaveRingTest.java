@@ -0,0 +1,88 @@
+package com.mygdx.catmario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.badlogic.gdx.files.FileHandle;
+
+// Background writes report back through Gdx.app
+class AutosaveRingTest extends HeadlessTest {
+    private static final int SLOTS = 5;
+    private static final int CAPTURES = 12;
+
+    @TempDir
+    File directory;
+
+    @Test
+    void ringKeepsOnlyItsSlotsAndTheNewestLoads() throws InterruptedException {
+        GameWorld world = TestWorlds.run(10, 0);
+        PersistenceExecutor persistence = new PersistenceExecutor();
+        AutosaveRing ring = new AutosaveRing(new FileHandle(directory), SLOTS, persistence);
+        long lastHash = 0;
+        for (int i = 0; i < CAPTURES; i++) {
+            TestWorlds.step(world, 60);
+            capture(ring, world, 7);
+            lastHash = world.hashState();
+        }
+        persistence.dispose();  // Waits for the queued writes
+
+        assertOnlySlotFiles();
+        SaveData newest = loadNewest();
+        assertEquals(7, newest.getRunId());
+        GameWorld restored = TestWorlds.empty();
+        WorldSerializer.read(newest.getWorld(), restored);
+        assertEquals(lastHash, restored.hashState());
+    }
+
+    // The next session overwrites the oldest slot and its save becomes the newest
+    @Test
+    void reopenedRingCarriesOnAfterTheNewest() throws InterruptedException {
+        GameWorld world = TestWorlds.run(10, 0);
+        PersistenceExecutor persistence = new PersistenceExecutor();
+        AutosaveRing ring = new AutosaveRing(new FileHandle(directory), SLOTS, persistence);
+        for (int i = 0; i < CAPTURES; i++) {
+            capture(ring, world, 7);
+        }
+        persistence.dispose();
+
+        PersistenceExecutor nextPersistence = new PersistenceExecutor();
+        AutosaveRing nextRing = new AutosaveRing(new FileHandle(directory), SLOTS, nextPersistence);
+        capture(nextRing, world, 8);
+        nextPersistence.dispose();
+
+        assertOnlySlotFiles();
+        assertEquals(8, loadNewest().getRunId());
+    }
+
+    private static void capture(AutosaveRing ring, GameWorld world, long runId) throws InterruptedException {
+        while (!ring.capture(world.getEntities(), world.getPlayer(), world.getScore(), world.getTick(), 1, "CAT", runId)) {
+            Thread.sleep(1);  // Both buffers still being written
+        }
+    }
+
+    private void assertOnlySlotFiles() {
+        String[] files = directory.list();
+        assertNotNull(files);
+        assertEquals(SLOTS, files.length);
+        for (String name : files) {
+            assertTrue(name.matches("autosave-[0-4]\\.sav"), name);
+        }
+    }
+
+    private SaveData loadNewest() {
+        PersistenceExecutor persistence = new PersistenceExecutor();
+        try {
+            SaveData newest = new AutosaveRing(new FileHandle(directory), SLOTS, persistence).loadNewest();
+            assertNotNull(newest);
+            return newest;
+        } finally {
+            persistence.dispose();
+        }
+    }
+}
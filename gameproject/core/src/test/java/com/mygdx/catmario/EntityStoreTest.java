@@ -0,0 +1,136 @@
+package com.mygdx.catmario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class EntityStoreTest {
+    private static final int CAPACITY = 32;
+    private static final int COUNT = 20;
+
+    // Entities (by creation order) retired together: the first, the last, a run of neighbours and a few on their own
+    private static final int[] RETIRED = {0, 3, 4, 5, 11, 16, 19};
+
+    @Test
+    void compactKeepsSurvivorsByIdInOrder() {
+        EntityStore store = new EntityStore(CAPACITY);
+        int[] ids = fill(store);
+        retire(store, ids);
+        store.compact();
+
+        assertEquals(COUNT - RETIRED.length, store.size());
+        int lastSlot = -1;
+        for (int i = 0; i < COUNT; i++) {
+            if (isRetired(i)) {
+                assertFalse(store.isAlive(ids[i]), "entity " + i);
+                continue;
+            }
+            int id = ids[i];
+            assertTrue(store.isAlive(id), "entity " + i);
+            int slot = store.slotOf(id);
+            assertEquals(id, store.idAt(slot));
+            assertTrue(slot > lastSlot, "survivors keep their order");
+            lastSlot = slot;
+            assertComponents(store, id, i);
+        }
+    }
+
+    @Test
+    void idsFreedByCompactAreReusedWithoutTouchingSurvivors() {
+        EntityStore store = new EntityStore(CAPACITY);
+        int[] ids = fill(store);
+        retire(store, ids);
+        store.compact();
+
+        // Fill the store to capacity; every new id must be one that is not alive yet
+        int created = 0;
+        while (true) {
+            int id = store.create(EntityStore.TRANSFORM);
+            if (id < 0) {
+                break;
+            }
+            created++;
+            for (int i = 0; i < COUNT; i++) {
+                if (!isRetired(i)) {
+                    assertNotEquals(ids[i], id);
+                }
+            }
+            assertEquals(id, store.idAt(store.slotOf(id)));
+        }
+        assertEquals(CAPACITY - (COUNT - RETIRED.length), created);
+        for (int i = 0; i < COUNT; i++) {
+            if (!isRetired(i)) {
+                assertComponents(store, ids[i], i);
+            }
+        }
+    }
+
+    @Test
+    void compactAfterSwapRemoveKeepsIdsConsistent() {
+        EntityStore store = new EntityStore(CAPACITY);
+        int[] ids = fill(store);
+        store.destroy(ids[7]);  // Moves the last entity into slot 7
+        retire(store, ids);
+        store.compact();
+
+        for (int i = 0; i < COUNT; i++) {
+            boolean alive = i != 7 && !isRetired(i);
+            assertEquals(alive, store.isAlive(ids[i]), "entity " + i);
+            if (alive) {
+                assertEquals(ids[i], store.idAt(store.slotOf(ids[i])));
+                assertComponents(store, ids[i], i);
+            }
+        }
+    }
+
+    // Entities with a different mix of components and values derived from their index
+    private static int[] fill(EntityStore store) {
+        int[] ids = new int[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            ids[i] = store.create(componentsOf(i));
+            store.setPosition(ids[i], i * 10, i * 20);
+            store.setVelocity(ids[i], i, -i);
+            store.setHealth(ids[i], i % 3, i * 5);
+            store.setValue(ids[i], i * 100);
+        }
+        return ids;
+    }
+
+    // Clears their masks the way ProjectileSystem does, by the slot each one is in now
+    private static void retire(EntityStore store, int[] ids) {
+        for (int i : RETIRED) {
+            if (store.isAlive(ids[i])) {
+                store.destroyLater(store.slotOf(ids[i]));
+            }
+        }
+    }
+
+    private static boolean isRetired(int index) {
+        for (int i : RETIRED) {
+            if (i == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int componentsOf(int index) {
+        return index % 2 == 0
+            ? EntityStore.TRANSFORM | EntityStore.VELOCITY | EntityStore.PROJECTILE
+            : EntityStore.TRANSFORM | EntityStore.PICKUP;
+    }
+
+    private static void assertComponents(EntityStore store, int id, int index) {
+        assertEquals(componentsOf(index), store.getMask(id));
+        assertEquals(index * 10, store.getX(id));
+        assertEquals(index * 20, store.getY(id));
+        assertEquals(index, store.getVelocityX(id));
+        assertEquals(-index, store.getVelocityY(id));
+        assertEquals(index % 3, store.getLives(id));
+        assertEquals(index * 5, store.getHp(id));
+        assertEquals(index * 100, store.value[store.slotOf(id)]);
+    }
+}
@@ -0,0 +1,22 @@
+package com.mygdx.catmario;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+
+// Base for tests of code that needs Gdx.app; runs a headless application for the duration of the test class
+abstract class HeadlessTest {
+    private static HeadlessApplication application;
+
+    @BeforeAll
+    static void startApplication() {
+        application = new HeadlessApplication(new ApplicationAdapter() {});
+    }
+
+    @AfterAll
+    static void stopApplication() {
+        application.exit();
+    }
+}
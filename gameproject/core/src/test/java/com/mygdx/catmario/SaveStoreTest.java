@@ -0,0 +1,64 @@
+package com.mygdx.catmario;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.File;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.badlogic.gdx.files.FileHandle;
+
+// SaveStore logs and reads legacy saves through Gdx.app
+class SaveStoreTest extends HeadlessTest {
+    private static final int SAVES = 12;
+    private static final int TICKS_BETWEEN_SAVES = 30;
+    private static final long RUN_ID = 42;
+
+    @TempDir
+    File directory;
+
+    // Saves of one run are deltas against its first save; each must load back on its own from a fresh store
+    @Test
+    void everySaveOfARunLoadsBack() {
+        GameWorld world = TestWorlds.run(10, 0);
+        SaveStore store = new SaveStore(new FileHandle(directory));
+        long[] hashes = new long[SAVES];
+        for (int save = 0; save < SAVES; save++) {
+            TestWorlds.step(world, TICKS_BETWEEN_SAVES);
+            hashes[save] = world.hashState();
+            store.append(new SaveData(save, 1, "CAT", 0, 0, RUN_ID, TestWorlds.snapshot(world)));
+        }
+
+        SaveStore reopened = new SaveStore(new FileHandle(directory));
+        assertEquals(SAVES, reopened.getSlotCount());
+        for (int slot = SAVES - 1; slot >= 0; slot--) { // Newest first, so the run's base is not cached yet
+            SaveData save = reopened.load(slot);
+            assertNotNull(save);
+            assertEquals(RUN_ID, save.getRunId());
+            GameWorld restored = TestWorlds.empty();
+            WorldSerializer.read(save.getWorld(), restored);
+            assertEquals(hashes[slot], restored.hashState());
+        }
+    }
+
+    // A loaded game saving on keeps deltaing against the base the load found
+    @Test
+    void savingOnFromALoadedGameLoadsBack() {
+        GameWorld world = TestWorlds.run(10, TICKS_BETWEEN_SAVES);
+        SaveStore store = new SaveStore(new FileHandle(directory));
+        store.append(new SaveData(0, 1, "CAT", 0, 0, RUN_ID, TestWorlds.snapshot(world)));
+
+        SaveStore reopened = new SaveStore(new FileHandle(directory));
+        GameWorld loaded = TestWorlds.empty();
+        WorldSerializer.read(reopened.load(0).getWorld(), loaded);
+        Prefabs.bullet(loaded.getEntities(), 500, 300);
+        TestWorlds.step(loaded, TICKS_BETWEEN_SAVES);
+        reopened.append(new SaveData(1, 1, "CAT", 0, 0, RUN_ID, TestWorlds.snapshot(loaded)));
+
+        GameWorld restored = TestWorlds.empty();
+        WorldSerializer.read(new SaveStore(new FileHandle(directory)).load(1).getWorld(), restored);
+        assertEquals(loaded.hashState(), restored.hashState());
+    }
+}
@@ -0,0 +1,59 @@
+package com.mygdx.catmario;
+
+// Small deterministic worlds for tests: a flat level, a player running right, jumping and firing on a fixed
+// schedule, and optionally extra bullets so snapshots can be taken at different entity counts.
+final class TestWorlds {
+    private static final float STEP = 1f / 60f;
+    private static final float TILE_SIZE = 75;
+
+    private TestWorlds() {
+    }
+
+    static TileMap level() {
+        TileMap level = new TileMap(200, 20, TILE_SIZE);
+        for (int x = 0; x < level.getWidth(); x++) {
+            level.setTile(x, 0, (byte) 1);
+        }
+        return level;
+    }
+
+    // A world with no entities yet, for WorldSerializer.read() to fill
+    static GameWorld empty() {
+        TileMap level = level();
+        return new GameWorld(level, () -> 0, level.getPixelWidth());
+    }
+
+    // A player plus extraBullets bullets, stepped ticks times
+    static GameWorld run(int extraBullets, int ticks) {
+        TileMap level = level();
+        int[] tick = {0};
+        InputSource input = () -> {
+            int t = tick[0]++;
+            int bits = InputSource.RIGHT;
+            if (t % 40 == 0) {
+                bits |= InputSource.JUMP;
+            }
+            if (t % 7 == 0) {
+                bits |= InputSource.FIRE;
+            }
+            return bits;
+        };
+        GameWorld world = new GameWorld(level, input, level.getPixelWidth());
+        world.createPlayer(150, TILE_SIZE, 300, 150);
+        for (int i = 0; i < extraBullets; i++) {
+            Prefabs.bullet(world.getEntities(), 200 + i * 30, 300 + i % 5 * 40);
+        }
+        step(world, ticks);
+        return world;
+    }
+
+    static void step(GameWorld world, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            world.step(STEP);
+        }
+    }
+
+    static byte[] snapshot(GameWorld world) {
+        return WorldSerializer.write(world.getEntities(), world.getPlayer(), world.getScore(), world.getTick());
+    }
+}
@@ -0,0 +1,73 @@
+package com.mygdx.catmario;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+class WorldSerializerTest {
+    @Test
+    void fullSnapshotRoundTrips() {
+        assertRoundTrip(TestWorlds.run(10, 120), null);
+    }
+
+    @Test
+    void deltaAgainstEarlierTickOfTheSameRunRoundTrips() {
+        GameWorld world = TestWorlds.run(10, 60);
+        byte[] base = TestWorlds.snapshot(world);
+        TestWorlds.step(world, 60);
+        assertRoundTrip(world, base);
+    }
+
+    @Test
+    void deltaAgainstBaseWithMoreEntitiesRoundTrips() {
+        GameWorld base = TestWorlds.run(50, 60);
+        GameWorld world = TestWorlds.run(5, 120);
+        assertRoundTrip(world, TestWorlds.snapshot(base));
+    }
+
+    @Test
+    void deltaAgainstBaseWithFewerEntitiesRoundTrips() {
+        GameWorld base = TestWorlds.run(0, 1);
+        GameWorld world = TestWorlds.run(50, 120);
+        assertRoundTrip(world, TestWorlds.snapshot(base));
+    }
+
+    @Test
+    void deltaAgainstEmptyWorldRoundTrips() {
+        GameWorld base = TestWorlds.empty();
+        assertRoundTrip(TestWorlds.run(10, 60), TestWorlds.snapshot(base));
+    }
+
+    @Test
+    void deltaDoesNotReadWithoutItsBase() {
+        byte[] base = TestWorlds.snapshot(TestWorlds.run(10, 60));
+        byte[] packed = WorldSerializer.pack(TestWorlds.snapshot(TestWorlds.run(10, 120)), base);
+        byte[] unpacked = WorldSerializer.unpack(packed, null);
+        assertThrows(GdxRuntimeException.class, () -> WorldSerializer.read(unpacked, TestWorlds.empty()));
+    }
+
+    @Test
+    void truncatedPackIsRejected() {
+        byte[] packed = WorldSerializer.pack(TestWorlds.snapshot(TestWorlds.run(10, 60)), null);
+        byte[] truncated = new byte[packed.length / 2];
+        System.arraycopy(packed, 0, truncated, 0, truncated.length);
+        assertThrows(GdxRuntimeException.class, () -> WorldSerializer.unpack(truncated, null));
+    }
+
+    // write -> pack against base -> unpack -> read must give back the same world
+    private static void assertRoundTrip(GameWorld world, byte[] base) {
+        byte[] snapshot = TestWorlds.snapshot(world);
+        byte[] unpacked = WorldSerializer.unpack(WorldSerializer.pack(snapshot, base), base);
+        assertArrayEquals(snapshot, unpacked);
+
+        GameWorld restored = TestWorlds.empty();
+        WorldSerializer.read(unpacked, restored);
+        assertEquals(world.hashState(), restored.hashState());
+        assertEquals(world.getEntities().getX(world.getPlayer()), restored.getEntities().getX(restored.getPlayer()));
+        assertEquals(world.getEntities().getY(world.getPlayer()), restored.getEntities().getY(restored.getPlayer()));
+    }
+}